@@ -1,13 +1,15 @@
 package tooltipsplus;
 
 import arc.Events;
+import arc.util.Interval;
 import arc.util.Log;
 import mindustry.Vars;
 import mindustry.game.EventType;
 import mindustry.mod.Mod;
 import mindustry.world.Block;
-import mindustry.world.blocks.power.PowerGenerator;
 import tooltipsplus.config.*;
+import tooltipsplus.data.BlockStatsTable;
+import tooltipsplus.data.UnitStatsTable;
 import tooltipsplus.ui.*;
 import tooltipsplus.util.ColorUtil;
 
@@ -15,10 +17,15 @@ public class TooltipsPlusMod extends Mod {
     
     private Settings settings;
     private ColorUtil colors;
+    private BlockStatsTable blockStats;
+    private UnitStatsTable unitStats;
     private TooltipRenderer tooltipRenderer;
     private VisualIndicators visualIndicators;
     private HealthDisplaySystem healthDisplay;
     private SettingsUI settingsUI;
+    private final Interval statsTimer = new Interval();
+    
+    private static final float STATS_LOG_TICKS = 300f;
     
     public TooltipsPlusMod() {
         settings = new Settings();
@@ -32,7 +39,11 @@ public class TooltipsPlusMod extends Mod {
         Log.info("TooltipsPlus v5.0 initializing...");
         
         if (settings.enabled) {
-            tooltipRenderer = new TooltipRenderer(settings, colors);
+            blockStats = new BlockStatsTable();
+            blockStats.build();
+            unitStats = new UnitStatsTable();
+            
+            tooltipRenderer = new TooltipRenderer(settings, colors, blockStats, unitStats);
             visualIndicators = new VisualIndicators(settings);
             healthDisplay = new HealthDisplaySystem(settings);
             
@@ -40,6 +51,7 @@ public class TooltipsPlusMod extends Mod {
             setupVisualIndicators();
             setupHealthDisplay();
             setupHotkeys();
+            setupDebugStats();
             injectStaticDescriptions();
         }
         
@@ -85,8 +97,11 @@ public class TooltipsPlusMod extends Mod {
             
             if (arc.Core.input.keyTap(arc.input.KeyCode.p) && tooltipRenderer != null) {
                 var lastBuilding = tooltipRenderer.getLastHoveredBuilding();
+                var lastUnit = tooltipRenderer.getLastHoveredUnit();
                 if (lastBuilding != null) {
                     tooltipRenderer.setPinned(lastBuilding);
+                } else if (lastUnit != null) {
+                    tooltipRenderer.setPinned(lastUnit);
                 }
             }
             
@@ -102,23 +117,32 @@ public class TooltipsPlusMod extends Mod {
         });
     }
     
+    void setupDebugStats() {
+        Events.run(EventType.Trigger.update, () -> {
+            if (!settings.debugStats || Vars.state.isMenu() || !statsTimer.get(STATS_LOG_TICKS)) return;
+            
+            StringBuilder stats = new StringBuilder("TooltipsPlus stats:");
+            stats.append(" health bars=").append(healthDisplay.getLastBarCount())
+                .append(" submits=").append(healthDisplay.getLastSubmitCount())
+                .append(" visible=").append(healthDisplay.getLastVisibleCount())
+                .append(" refreshed=").append(healthDisplay.getScheduler().getLastRefreshed())
+                .append(" (").append(healthDisplay.getScheduler().getLastNanos() / 1000L).append("µs)");
+            stats.append(" | cones=").append(visualIndicators.getLastConeCount())
+                .append(" quads=").append(visualIndicators.getConeQuadCount())
+                .append(" submits=").append(visualIndicators.getConeSubmitCount());
+            HoverUnitFinder hover = tooltipRenderer.getHoverFinder();
+            stats.append(" | hover queries=").append(hover.getQueryCount())
+                .append(" skipped=").append(hover.getSkipCount())
+                .append(" candidates=").append(hover.getLastCandidates())
+                .append(" (").append(hover.getLastNanos() / 1000L).append("µs)");
+            Log.info(stats.toString());
+        });
+    }
+    
     void injectStaticDescriptions() {
         for (Block block : Vars.content.blocks()) {
             if (block.description != null && !block.description.contains("§")) {
-                StringBuilder extra = new StringBuilder("\n[accent]§ Stats:");
-                
-                if (block instanceof PowerGenerator) {
-                    PowerGenerator gen = (PowerGenerator)block;
-                    extra.append("\n  Power: ").append((int)(gen.powerProduction * 60f)).append("/s");
-                }
-                if (block.hasItems && block.itemCapacity > 0) {
-                    extra.append("\n  Items: ").append(block.itemCapacity);
-                }
-                if (block.health > 0) {
-                    extra.append("\n  HP: ").append((int)block.health);
-                }
-                
-                block.description += extra.toString();
+                block.description += blockStats.description(block);
             }
         }
     }
@@ -13,4 +13,14 @@ public class Constants {
     public static final Color RANGE_ATTACK = Color.valueOf("ff6b6b");
     public static final Color RANGE_EFFECT = Color.valueOf("84f491");
     public static final Color RANGE_REPAIR = Color.valueOf("ffd37f");
+    
+    public static final Color TEAM_ALLY = Color.valueOf("84f491");
+    public static final Color TEAM_ENEMY = Color.valueOf("ff6b6b");
+    public static final Color HEALTH_WARNING = Color.valueOf("f4d03f");
+    public static final Color BOSS_COLOR = Color.valueOf("ff4444");
+    public static final Color NUMBER_DAMAGE = Color.valueOf("ff5555");
+    public static final Color NUMBER_HEAL = Color.valueOf("55ff55");
+    public static final Color CONE_FIRING = Color.valueOf("ff4444");
+    public static final Color CONE_TARGETING = Color.valueOf("ffaa44");
+    public static final Color CONE_IDLE = Color.valueOf("44ff44");
   }
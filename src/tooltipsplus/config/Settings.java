@@ -17,6 +17,7 @@ public class Settings {
     public boolean showStorageBreakdown = true;
     public boolean showProductionHistory = true;
     public boolean showHealthBars = true;
+    public boolean autoLod = true;
     public boolean showShieldStacks = true;
     public boolean showRangeIndicators = true;
     public boolean showEffectRanges = true;
@@ -43,11 +44,15 @@ public class Settings {
     public float healthBarHeight = 6f;
     public float shieldBarHeight = 4f;
     public float hoverDelay = 0.15f;
+    public int tooltipRefreshRate = 10;
     
     public boolean autoHideFullHP = true;
     public boolean showBossBar = true;
     public String anchorMode = "follow";
     public float bossHPThreshold = 5000f;
+    public int bossBarCount = 1;
+    public float healthUpdateBudget = 500f;
+    public boolean debugStats = false;
 
     public void load() {
         enabled = Core.settings.getBool("ttp-enabled", true);
@@ -64,6 +69,7 @@ public class Settings {
         showStorageBreakdown = Core.settings.getBool("ttp-storage", true);
         showProductionHistory = Core.settings.getBool("ttp-history", true);
         showHealthBars = Core.settings.getBool("ttp-healthbars", true);
+        autoLod = Core.settings.getBool("ttp-autolod", true);
         showShieldStacks = Core.settings.getBool("ttp-shields", true);
         showRangeIndicators = Core.settings.getBool("ttp-ranges", true);
         showEffectRanges = Core.settings.getBool("ttp-effects", true);
@@ -87,11 +93,15 @@ public class Settings {
         maxTooltipLines = Core.settings.getInt("ttp-maxlines", 20);
         rangeOpacity = Core.settings.getInt("ttp-rangeopacity", 25) / 100f;
         effectRangeOpacity = Core.settings.getInt("ttp-effectopacity", 15) / 100f;
+        tooltipRefreshRate = Core.settings.getInt("ttp-tooltiprate", 10);
         
         autoHideFullHP = Core.settings.getBool("ttp-autohide", true);
         showBossBar = Core.settings.getBool("ttp-bossbar", true);
         anchorMode = Core.settings.getString("ttp-anchor", "follow");
         bossHPThreshold = Core.settings.getInt("ttp-bossthreshold", 5000);
+        bossBarCount = Core.settings.getInt("ttp-bosscount", 1);
+        healthUpdateBudget = Core.settings.getInt("ttp-healthbudget", 500);
+        debugStats = Core.settings.getBool("ttp-debugstats", false);
     }
 
     public void save() {
@@ -109,6 +119,7 @@ public class Settings {
         Core.settings.put("ttp-storage", showStorageBreakdown);
         Core.settings.put("ttp-history", showProductionHistory);
         Core.settings.put("ttp-healthbars", showHealthBars);
+        Core.settings.put("ttp-autolod", autoLod);
         Core.settings.put("ttp-shields", showShieldStacks);
         Core.settings.put("ttp-ranges", showRangeIndicators);
         Core.settings.put("ttp-effects", showEffectRanges);
@@ -132,11 +143,15 @@ public class Settings {
         Core.settings.put("ttp-maxlines", maxTooltipLines);
         Core.settings.put("ttp-rangeopacity", (int)(rangeOpacity * 100));
         Core.settings.put("ttp-effectopacity", (int)(effectRangeOpacity * 100));
+        Core.settings.put("ttp-tooltiprate", tooltipRefreshRate);
         
         Core.settings.put("ttp-autohide", autoHideFullHP);
         Core.settings.put("ttp-bossbar", showBossBar);
         Core.settings.put("ttp-anchor", anchorMode);
         Core.settings.put("ttp-bossthreshold", (int)bossHPThreshold);
+        Core.settings.put("ttp-bosscount", bossBarCount);
+        Core.settings.put("ttp-healthbudget", (int)healthUpdateBudget);
+        Core.settings.put("ttp-debugstats", debugStats);
         Core.settings.forceSave();
     }
 
@@ -194,6 +209,7 @@ public class Settings {
         showStorageBreakdown = true;
         showProductionHistory = true;
         showHealthBars = true;
+        autoLod = true;
         showShieldStacks = true;
         showRangeIndicators = true;
         showEffectRanges = true;
@@ -205,6 +221,7 @@ public class Settings {
         tooltipOpacity = 8;
         followCursor = true;
         hoverDelay = 0.15f;
+        tooltipRefreshRate = 10;
         fontSize = 1;
         colorTheme = "default";
         playHoverSound = false;
@@ -216,6 +233,9 @@ public class Settings {
         showBossBar = true;
         anchorMode = "follow";
         bossHPThreshold = 5000f;
+        bossBarCount = 1;
+        healthUpdateBudget = 500f;
+        debugStats = false;
         save();
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package tooltipsplus.data;
+
+import arc.struct.Seq;
+import arc.util.Strings;
+import mindustry.Vars;
+import mindustry.world.Block;
+import mindustry.world.blocks.defense.turrets.Turret;
+import mindustry.world.blocks.distribution.Conveyor;
+import mindustry.world.blocks.power.PowerGenerator;
+import mindustry.world.blocks.production.*;
+import tooltipsplus.util.FormatUtil;
+
+public class BlockStatsTable {
+    public float[] health = {};
+    public float[] powerProduction = {};
+    public float[] powerUse = {};
+    public float[] powerCapacity = {};
+    public int[] itemCapacity = {};
+    public int[] rangeTiles = {};
+    public float[] shotsPerMinute = {};
+    public float[] drillRate = {};
+    public float[] conveyorRate = {};
+
+    public String[] powerProductionText = {};
+    public String[] powerUseText = {};
+    public String[] shotsPerMinuteText = {};
+    public String[] drillRateText = {};
+    public String[] conveyorRateText = {};
+    public String[][] outputRateText = {};
+
+    public void build() {
+        Seq<Block> blocks = Vars.content.blocks();
+        int size = blocks.size;
+
+        health = new float[size];
+        powerProduction = new float[size];
+        powerUse = new float[size];
+        powerCapacity = new float[size];
+        itemCapacity = new int[size];
+        rangeTiles = new int[size];
+        shotsPerMinute = new float[size];
+        drillRate = new float[size];
+        conveyorRate = new float[size];
+        powerProductionText = new String[size];
+        powerUseText = new String[size];
+        shotsPerMinuteText = new String[size];
+        drillRateText = new String[size];
+        conveyorRateText = new String[size];
+        outputRateText = new String[size][];
+
+        for (int i = 0; i < size; i++) {
+            Block block = blocks.get(i);
+            int id = block.id;
+
+            health[id] = block.health;
+            itemCapacity[id] = block.hasItems ? block.itemCapacity : 0;
+
+            if (block instanceof PowerGenerator) {
+                powerProduction[id] = ((PowerGenerator)block).powerProduction * 60f;
+                powerProductionText[id] = FormatUtil.formatNumber(powerProduction[id]);
+            }
+
+            if (block.consPower != null) {
+                powerUse[id] = block.consPower.usage * 60f;
+                powerCapacity[id] = block.consPower.capacity;
+                if (powerUse[id] > 0) powerUseText[id] = FormatUtil.formatNumber(powerUse[id]);
+            }
+
+            if (block instanceof Turret) {
+                Turret turret = (Turret)block;
+                rangeTiles[id] = (int)(turret.range / 8f);
+                if (turret.reload > 0) {
+                    shotsPerMinute[id] = (60f / turret.reload) * 60f;
+                    shotsPerMinuteText[id] = Strings.autoFixed(shotsPerMinute[id], 1);
+                }
+            }
+
+            if (block instanceof Drill) {
+                Drill drill = (Drill)block;
+                if (drill.drillTime > 0) {
+                    drillRate[id] = 60f / drill.drillTime;
+                    drillRateText[id] = Strings.autoFixed(drillRate[id], 1);
+                }
+            }
+
+            if (block instanceof Conveyor) {
+                conveyorRate[id] = ((Conveyor)block).displayedSpeed;
+                conveyorRateText[id] = Strings.autoFixed(conveyorRate[id], 1);
+            }
+
+            if (block instanceof GenericCrafter) {
+                GenericCrafter crafter = (GenericCrafter)block;
+                if (crafter.outputItems != null && crafter.outputItems.length > 0) {
+                    String[] rates = new String[crafter.outputItems.length];
+                    for (int j = 0; j < rates.length; j++) {
+                        rates[j] = Strings.autoFixed((crafter.outputItems[j].amount / crafter.craftTime) * 60f, 1);
+                    }
+                    outputRateText[id] = rates;
+                }
+            }
+        }
+    }
+
+    public String description(Block block) {
+        int id = block.id;
+        StringBuilder extra = new StringBuilder("\n[accent]§ Stats:");
+
+        if (block instanceof PowerGenerator) {
+            extra.append("\n  Power: ").append((int)powerProduction[id]).append("/s");
+        }
+        if (itemCapacity[id] > 0) {
+            extra.append("\n  Items: ").append(itemCapacity[id]);
+        }
+        if (health[id] > 0) {
+            extra.append("\n  HP: ").append((int)health[id]);
+        }
+
+        return extra.toString();
+    }
+}
@@ -0,0 +1,139 @@
+package tooltipsplus.data;
+
+import arc.Events;
+import arc.struct.IntIntMap;
+import arc.util.Interval;
+import mindustry.game.EventType;
+import mindustry.gen.*;
+import java.util.Arrays;
+
+public class BossTracker {
+    private static final int MAX_CANDIDATES = 32;
+    private static final float RESYNC_TICKS = 300f;
+
+    private Unit[] heap = new Unit[64];
+    private int size = 0;
+    private final IntIntMap heapIndex = new IntIntMap();
+    private final int[] candidates = new int[MAX_CANDIDATES];
+    private final Interval resync = new Interval();
+    private float threshold = -1f;
+
+    public void register() {
+        Events.on(EventType.UnitCreateEvent.class, e -> add(e.unit));
+        Events.on(EventType.UnitSpawnEvent.class, e -> add(e.unit));
+        Events.on(EventType.UnitDestroyEvent.class, e -> remove(e.unit));
+        Events.on(EventType.WorldLoadEvent.class, e -> rebuild(threshold));
+    }
+
+    public int top(Unit[] out, int count, float minMaxHealth) {
+        if (minMaxHealth != threshold || resync.get(RESYNC_TICKS)) {
+            rebuild(minMaxHealth);
+        }
+
+        while (size > 0 && heap[0].dead()) {
+            remove(heap[0]);
+        }
+        if (size == 0) return 0;
+
+        int found = 0;
+        int candidateCount = 1;
+        candidates[0] = 0;
+
+        while (found < count && candidateCount > 0) {
+            int best = 0;
+            for (int i = 1; i < candidateCount; i++) {
+                if (heap[candidates[i]].maxHealth > heap[candidates[best]].maxHealth) best = i;
+            }
+
+            int node = candidates[best];
+            candidates[best] = candidates[--candidateCount];
+
+            int left = node * 2 + 1;
+            if (left < size && candidateCount < MAX_CANDIDATES) candidates[candidateCount++] = left;
+            if (left + 1 < size && candidateCount < MAX_CANDIDATES) candidates[candidateCount++] = left + 1;
+
+            Unit unit = heap[node];
+            if (unit.isValid()) {
+                out[found++] = unit;
+            }
+        }
+
+        return found;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    void rebuild(float minMaxHealth) {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        heapIndex.clear();
+        threshold = minMaxHealth;
+        if (threshold < 0f) return;
+
+        for (int i = 0; i < Groups.unit.size(); i++) {
+            add(Groups.unit.index(i));
+        }
+    }
+
+    void add(Unit unit) {
+        if (unit == null || threshold < 0f || unit.maxHealth < threshold) return;
+        if (heapIndex.containsKey(unit.id)) return;
+
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        heap[size] = unit;
+        heapIndex.put(unit.id, size);
+        siftUp(size++);
+    }
+
+    void remove(Unit unit) {
+        if (unit == null) return;
+
+        int index = heapIndex.remove(unit.id, -1);
+        if (index == -1) return;
+
+        int last = --size;
+        if (index != last) {
+            heap[index] = heap[last];
+            heapIndex.put(heap[index].id, index);
+            heap[last] = null;
+            siftDown(index);
+            siftUp(index);
+        } else {
+            heap[last] = null;
+        }
+    }
+
+    private void siftUp(int index) {
+        Unit unit = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].maxHealth >= unit.maxHealth) break;
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(unit, index);
+    }
+
+    private void siftDown(int index) {
+        Unit unit = heap[index];
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1].maxHealth > heap[child].maxHealth) child++;
+            if (heap[child].maxHealth <= unit.maxHealth) break;
+            place(heap[child], index);
+            index = child;
+        }
+        place(unit, index);
+    }
+
+    private void place(Unit unit, int index) {
+        heap[index] = unit;
+        heapIndex.put(unit.id, index);
+    }
+}
@@ -1,7 +1,5 @@
 package tooltipsplus.data;
 
-import arc.scene.ui.layout.Table;
-import arc.util.Strings;
 import mindustry.Vars;
 import mindustry.gen.Building;
 import mindustry.world.Tile;
@@ -10,183 +8,224 @@ import mindustry.world.blocks.production.*;
 import mindustry.world.blocks.distribution.*;
 import mindustry.world.blocks.defense.turrets.*;
 import tooltipsplus.config.Settings;
+import tooltipsplus.ui.TooltipRows;
 import tooltipsplus.util.ColorUtil;
 import tooltipsplus.util.FormatUtil;
 
 public class BuildingData {
     private Settings settings;
     private ColorUtil colors;
+    private BlockStatsTable stats;
+    private final PowerGridStats gridStats = new PowerGridStats();
+    private final ItemFlowMeter flow = new ItemFlowMeter();
     
-    public BuildingData(Settings settings, ColorUtil colors) {
+    public BuildingData(Settings settings, ColorUtil colors, BlockStatsTable stats) {
         this.settings = settings;
         this.colors = colors;
+        this.stats = stats;
+        gridStats.register();
+        flow.register();
     }
     
-    public void addPowerInfo(Table table, Building build) {
+    public void addPowerInfo(TooltipRows rows, Building build) {
         if (build.power == null) return;
         
-        table.add(colors.statColor + "─ Power ─").padTop(4f).row();
+        rows.header().append(colors.statColor).append("─ Power ─");
         
         if (build.block.consPower != null && build.block.consPower.capacity > 0) {
             float stored = build.power.status * build.block.consPower.capacity;
             float capacity = build.block.consPower.capacity;
-            table.add("⚡" + colors.statColor + "Battery: " + colors.accentColor + (int)stored + colors.infoColor + "/" + (int)capacity).left().row();
+            rows.line().append("⚡").append(colors.statColor).append("Battery: ").append(colors.accentColor).append((int)stored).append(colors.infoColor).append('/').append((int)capacity);
         }
         
-        if (build.block instanceof PowerGenerator) {
-            PowerGenerator gen = (PowerGenerator)build.block;
-            float production = gen.powerProduction * 60f;
-            table.add("  " + colors.successColor + "+ " + FormatUtil.formatNumber(production) + "/s").left().row();
+        int id = build.block.id;
+        if (stats.powerProductionText[id] != null) {
+            rows.line().append("  ").append(colors.successColor).append("+ ").append(stats.powerProductionText[id]).append("/s");
         }
         
-        if (build.block.consPower != null && build.block.consPower.usage > 0) {
-            float usage = build.block.consPower.usage * 60f;
-            table.add("  " + colors.warningColor + "- " + FormatUtil.formatNumber(usage) + "/s").left().row();
+        if (stats.powerUseText[id] != null) {
+            rows.line().append("  ").append(colors.warningColor).append("- ").append(stats.powerUseText[id]).append("/s");
         }
     }
     
-    public void addItemInfo(Table table, Building build) {
+    public void addItemInfo(TooltipRows rows, Building build) {
         if (build.items == null || build.items.total() == 0) return;
         
-        table.add(colors.statColor + "─ Items ─").padTop(4f).row();
+        rows.header().append(colors.statColor).append("─ Items ─");
         
         int total = build.items.total();
         int capacity = build.block.itemCapacity;
         float fillPercent = (total / (float)capacity) * 100f;
         
-        table.add("📦 " + colors.statColor + "Storage: " + colors.getPercentColor(fillPercent) + total + colors.infoColor + "/" + capacity).left().row();
+        rows.line().append("📦 ").append(colors.statColor).append("Storage: ").append(colors.getPercentColor(fillPercent)).append(total).append(colors.infoColor).append('/').append(capacity);
         
         if (settings.showWarnings && fillPercent > 90f) {
-            table.add("  " + colors.warningColor + "⚠ Nearly Full!").left().row();
+            rows.line().append("  ").append(colors.warningColor).append("⚠ Nearly Full!");
+        }
+        
+        int slot = flow.watch(build);
+        boolean measured = flow.measured(slot);
+        
+        if (measured) {
+            StringBuilder line = rows.line().append("  ").append(colors.infoColor).append("Flow: ").append(colors.successColor).append('+');
+            FormatUtil.appendFixed(line, flow.totalInRate(slot), 1).append("/s ").append(colors.warningColor).append('-');
+            FormatUtil.appendFixed(line, flow.totalOutRate(slot), 1).append("/s");
         }
         
         int itemCount = 0;
         for (int i = 0; i < Vars.content.items().size && itemCount < 3; i++) {
             var item = Vars.content.item(i);
             int amount = build.items.get(item);
-            if (amount > 0) {
-                table.add("  " + item.emoji() + " " + colors.infoColor + item.localizedName + ": " + colors.accentColor + amount).left().row();
+            float net = measured ? flow.inRate(slot, i) - flow.outRate(slot, i) : 0f;
+            if (amount > 0 || net != 0f) {
+                StringBuilder line = rows.line().append("  ").append(item.emoji()).append(' ').append(colors.infoColor).append(item.localizedName).append(": ").append(colors.accentColor).append(amount);
+                if (net != 0f) {
+                    line.append(' ').append(net > 0 ? colors.successColor : colors.warningColor).append(net > 0 ? "+" : "");
+                    FormatUtil.appendFixed(line, net, 1).append("/s");
+                }
                 itemCount++;
             }
         }
     }
     
-    public void addLiquidInfo(Table table, Building build) {
+    public void addLiquidInfo(TooltipRows rows, Building build) {
         if (build.liquids == null || build.liquids.currentAmount() < 0.01f) return;
         
-        table.add(colors.statColor + "─ Liquids ─").padTop(4f).row();
+        rows.header().append(colors.statColor).append("─ Liquids ─");
         
         float total = build.liquids.currentAmount();
         float capacity = build.block.liquidCapacity;
         float fillPercent = (total / capacity) * 100f;
         
-        table.add("💧" + colors.statColor + "Tank: " + colors.getPercentColor(fillPercent) + Strings.autoFixed(total, 1) + colors.infoColor + "/" + Strings.autoFixed(capacity, 1)).left().row();
+        StringBuilder line = rows.line().append("💧").append(colors.statColor).append("Tank: ").append(colors.getPercentColor(fillPercent));
+        FormatUtil.appendFixed(line, total, 1).append(colors.infoColor).append('/');
+        FormatUtil.appendFixed(line, capacity, 1);
     }
     
-    public void addProductionInfo(Table table, Building build) {
+    public void addProductionInfo(TooltipRows rows, Building build) {
         if (!(build.block instanceof GenericCrafter)) return;
         
         GenericCrafter crafter = (GenericCrafter)build.block;
+        String[] rates = stats.outputRateText[build.block.id];
         
-        if (crafter.outputItems != null && crafter.outputItems.length > 0) {
-            table.add(colors.statColor + "─ Production ─").padTop(4f).row();
+        if (rates != null) {
+            rows.header().append(colors.statColor).append("─ Production ─");
             
-            for (var output : crafter.outputItems) {
-                float rate = (output.amount / crafter.craftTime) * 60f;
-                table.add("  → " + output.item.emoji() + " " + colors.infoColor + Strings.autoFixed(rate, 1) + "/s").left().row();
+            for (int i = 0; i < rates.length; i++) {
+                rows.line().append("  → ").append(crafter.outputItems[i].item.emoji()).append(' ').append(colors.infoColor).append(rates[i]).append("/s");
             }
             
             float efficiency = build.efficiency;
             if (efficiency < 1f) {
-                table.add("  " + colors.warningColor + "⚠ " + (int)(efficiency * 100f) + "% speed").left().row();
+                rows.line().append("  ").append(colors.warningColor).append("⚠ ").append((int)(efficiency * 100f)).append("% speed");
             }
         }
     }
     
-    public void addTurretInfo(Table table, Building build) {
+    public void addTurretInfo(TooltipRows rows, Building build) {
         if (!(build.block instanceof Turret)) return;
         
-        Turret turret = (Turret)build.block;
+        int id = build.block.id;
         
-        table.add(colors.statColor + "─ Turret ─").padTop(4f).row();
-        table.add("  " + colors.infoColor + "Range: " + colors.accentColor + (int)(turret.range / 8f) + " tiles").left().row();
+        rows.header().append(colors.statColor).append("─ Turret ─");
+        rows.line().append("  ").append(colors.infoColor).append("Range: ").append(colors.accentColor).append(stats.rangeTiles[id]).append(" tiles");
         
-        if (turret.reload > 0) {
-            float shotsPerMin = (60f / turret.reload) * 60f;
-            table.add("  " + colors.infoColor + "Rate: " + colors.accentColor + Strings.autoFixed(shotsPerMin, 1) + "/min").left().row();
+        if (stats.shotsPerMinuteText[id] != null) {
+            rows.line().append("  ").append(colors.infoColor).append("Rate: ").append(colors.accentColor).append(stats.shotsPerMinuteText[id]).append("/min");
         }
         
         if (build instanceof Turret.TurretBuild) {
             Turret.TurretBuild tb = (Turret.TurretBuild)build;
             if (tb.hasAmmo()) {
-                table.add("  " + colors.successColor + "✓ Ammo Ready").left().row();
+                rows.line().append("  ").append(colors.successColor).append("✓ Ammo Ready");
             } else {
-                table.add("  " + colors.warningColor + "✗ No Ammo").left().row();
+                rows.line().append("  ").append(colors.warningColor).append("✗ No Ammo");
             }
         }
     }
     
-    public void addDrillInfo(Table table, Building build) {
+    public void addDrillInfo(TooltipRows rows, Building build) {
         if (!(build.block instanceof Drill)) return;
         
         Drill drill = (Drill)build.block;
         
-        table.add(colors.statColor + "─ Drill ─").padTop(4f).row();
-        table.add("  " + colors.infoColor + "Tier: " + colors.accentColor + drill.tier).left().row();
+        rows.header().append(colors.statColor).append("─ Drill ─");
+        rows.line().append("  ").append(colors.infoColor).append("Tier: ").append(colors.accentColor).append(drill.tier);
         
-        if (drill.drillTime > 0) {
-            float rate = 60f / drill.drillTime;
-            table.add("  " + colors.infoColor + "Speed: " + colors.accentColor + Strings.autoFixed(rate, 1) + "/s").left().row();
+        if (stats.drillRateText[drill.id] != null) {
+            rows.line().append("  ").append(colors.infoColor).append("Speed: ").append(colors.accentColor).append(stats.drillRateText[drill.id]).append("/s");
         }
         
         Tile tile = build.tile;
         if (tile != null && tile.drop() != null) {
-            table.add("  ⛏ " + tile.drop().emoji() + " " + colors.infoColor + tile.drop().localizedName).left().row();
+            rows.line().append("  ⛏ ").append(tile.drop().emoji()).append(' ').append(colors.infoColor).append(tile.drop().localizedName);
         }
     }
     
-    public void addConnectionInfo(Table table, Building build) {
+    public void addConnectionInfo(TooltipRows rows, Building build) {
         int connections = build.proximity.size;
         
         if (connections > 0) {
-            table.add(colors.statColor + "─ Connections ─").padTop(4f).row();
-            table.add("  " + colors.infoColor + "Links: " + colors.accentColor + connections).left().row();
+            rows.header().append(colors.statColor).append("─ Connections ─");
+            rows.line().append("  ").append(colors.infoColor).append("Links: ").append(colors.accentColor).append(connections);
         }
     }
     
-    public void addConveyorFlow(Table table, Building build) {
+    public void reserveTracked(int pinned) {
+        flow.reserve(pinned);
+    }
+    
+    public void addConveyorFlow(TooltipRows rows, Building build) {
         if (build.block instanceof Conveyor) {
-            Conveyor conveyor = (Conveyor)build.block;
-            float itemsPerSec = conveyor.speed * 60f;
-            table.add("→" + colors.statColor + "Flow: " + colors.accentColor + Strings.autoFixed(itemsPerSec, 1) + " items/s").left().row();
+            int slot = flow.watch(build);
+            if (flow.measured(slot)) {
+                StringBuilder line = rows.line().append("→").append(colors.statColor).append("Flow: ").append(colors.accentColor);
+                FormatUtil.appendFixed(line, flow.conveyorRate(slot), 1).append(colors.infoColor).append(" / max ").append(stats.conveyorRateText[build.block.id]).append(" items/s");
+            } else {
+                rows.line().append("→").append(colors.statColor).append("Flow: ").append(colors.infoColor).append("max ").append(colors.accentColor).append(stats.conveyorRateText[build.block.id]).append(" items/s");
+            }
         }
     }
     
-    public void addPowerNetworkInfo(Table table, Building build) {
+    public void addPowerNetworkInfo(TooltipRows rows, Building build) {
         if (build.power != null && build.power.graph != null) {
-            var graph = build.power.graph;
-            float production = graph.getPowerProduced() * 60f;
-            float consumption = graph.getPowerNeeded() * 60f;
-            float balance = production - consumption;
+            PowerGridStats.Entry grid = gridStats.get(build.power.graph);
             
-            if (production > 0 || consumption > 0) {
-                table.add(colors.infoColor + "─ Grid ─").padTop(4f).row();
+            if (grid.produced > 0 || grid.needed > 0 || grid.capacity > 0) {
+                rows.header().append(colors.infoColor).append("─ Grid ─");
+                
+                String balanceColor = grid.balance > 0 ? colors.successColor : colors.warningColor;
+                String balanceSymbol = grid.balance > 0 ? "+" : "";
+                StringBuilder line = rows.line().append(colors.statColor).append("Balance: ").append(balanceColor).append(balanceSymbol);
+                FormatUtil.appendFixed(line, grid.balance, 1).append("/s");
+                
+                if (grid.needed > 0) {
+                    rows.line().append(colors.statColor).append("Satisfaction: ").append(colors.getPercentColor(grid.satisfaction * 100f)).append((int)(grid.satisfaction * 100f)).append('%');
+                }
                 
-                String balanceColor = balance > 0 ? colors.successColor : colors.warningColor;
-                String balanceSymbol = balance > 0 ? "+" : "";
-                table.add(colors.statColor + "Balance: " + balanceColor + balanceSymbol + Strings.autoFixed(balance, 1) + "/s").left().row();
+                if (grid.capacity > 0) {
+                    line = rows.line().append(colors.statColor).append("Stored: ").append(colors.accentColor);
+                    FormatUtil.appendNumber(line, grid.stored).append(colors.infoColor).append('/');
+                    FormatUtil.appendNumber(line, grid.capacity);
+                    
+                    if (grid.secondsToEmpty >= 0f) {
+                        FormatUtil.appendTime(rows.line().append("  ").append(colors.warningColor).append("Empty in "), grid.secondsToEmpty);
+                    } else if (grid.secondsToFull >= 0f) {
+                        FormatUtil.appendTime(rows.line().append("  ").append(colors.successColor).append("Full in "), grid.secondsToFull);
+                    }
+                }
             }
         }
     }
     
-    public void addTeamInfo(Table table, Building build) {
+    public void addTeamInfo(TooltipRows rows, Building build) {
         if (!Vars.state.rules.pvp) return;
         
-        table.add(colors.statColor + "─ Team ─").padTop(4f).row();
-        table.add("  " + build.team.emoji + " " + build.team.coloredName()).left().row();
+        rows.header().append(colors.statColor).append("─ Team ─");
+        rows.line().append("  ").append(build.team.emoji).append(' ').append(build.team.coloredName());
         
         if (build.team != Vars.player.team()) {
-            table.add("  " + colors.warningColor + "🛡 Enemy Structure").left().row();
+            rows.line().append("  ").append(colors.warningColor).append("🛡 Enemy Structure");
         }
     }
-}
\ No newline at end of file
+}
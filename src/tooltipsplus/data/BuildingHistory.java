@@ -0,0 +1,147 @@
+package tooltipsplus.data;
+
+import arc.Events;
+import arc.struct.IntIntMap;
+import arc.util.Interval;
+import arc.util.Time;
+import mindustry.Vars;
+import mindustry.game.EventType;
+import mindustry.gen.Building;
+import java.util.Arrays;
+
+public class BuildingHistory {
+    public static final int POWER = 0;
+    public static final int ITEMS = 1;
+    public static final int LIQUID = 2;
+    public static final int EFFICIENCY = 3;
+    public static final int CHANNELS = 4;
+
+    public static final int SAMPLES = 60;
+    public static final int MAX_TRACKED = 32;
+    public static final int SPARE_TRACKED = 8;
+    public static final float SAMPLE_TICKS = 30f;
+
+    private int capacity = MAX_TRACKED;
+    private float[] values = new float[MAX_TRACKED * CHANNELS * SAMPLES];
+    private Building[] buildings = new Building[MAX_TRACKED];
+    private int[] heads = new int[MAX_TRACKED];
+    private int[] counts = new int[MAX_TRACKED];
+    private float[] lastWatched = new float[MAX_TRACKED];
+    private final IntIntMap slots = new IntIntMap(MAX_TRACKED);
+    private final Interval timer = new Interval();
+
+    public void register() {
+        Events.run(EventType.Trigger.update, this::update);
+        Events.on(EventType.WorldLoadEvent.class, e -> clear());
+    }
+
+    public int watch(Building build) {
+        if (build == null) return -1;
+
+        int slot = slots.get(build.id, -1);
+        if (slot == -1) {
+            slot = freeSlot();
+            if (buildings[slot] != null) slots.remove(buildings[slot].id, -1);
+
+            buildings[slot] = build;
+            heads[slot] = 0;
+            counts[slot] = 0;
+            slots.put(build.id, slot);
+            sample(slot);
+        }
+
+        lastWatched[slot] = Time.time;
+        return slot;
+    }
+
+    public void reserve(int pinned) {
+        int needed = Math.max(MAX_TRACKED, pinned + SPARE_TRACKED);
+        if (needed <= capacity) return;
+
+        capacity = needed;
+        values = Arrays.copyOf(values, capacity * CHANNELS * SAMPLES);
+        buildings = Arrays.copyOf(buildings, capacity);
+        heads = Arrays.copyOf(heads, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        lastWatched = Arrays.copyOf(lastWatched, capacity);
+    }
+
+    public int slot(Building build) {
+        return build == null ? -1 : slots.get(build.id, -1);
+    }
+
+    public int count(int slot) {
+        return counts[slot];
+    }
+
+    public float get(int slot, int channel, int index) {
+        int start = heads[slot] - counts[slot];
+        if (start < 0) start += SAMPLES;
+        return values[offset(slot, channel) + (start + index) % SAMPLES];
+    }
+
+    public float latest(int slot, int channel) {
+        return get(slot, channel, counts[slot] - 1);
+    }
+
+    public float max(int slot, int channel) {
+        float max = 0f;
+        int base = offset(slot, channel);
+        for (int i = 0; i < counts[slot]; i++) {
+            max = Math.max(max, values[base + i]);
+        }
+        return max;
+    }
+
+    public void clear() {
+        Arrays.fill(buildings, null);
+        Arrays.fill(counts, 0);
+        Arrays.fill(heads, 0);
+        slots.clear();
+    }
+
+    void update() {
+        if (!Vars.state.isPlaying() || !timer.get(SAMPLE_TICKS)) return;
+
+        for (int slot = 0; slot < capacity; slot++) {
+            Building build = buildings[slot];
+            if (build == null) continue;
+
+            if (!build.isValid()) {
+                slots.remove(build.id, -1);
+                buildings[slot] = null;
+                counts[slot] = 0;
+                continue;
+            }
+
+            sample(slot);
+        }
+    }
+
+    private void sample(int slot) {
+        Building build = buildings[slot];
+        int head = heads[slot];
+
+        values[offset(slot, POWER) + head] = build.power != null ? build.power.status : 0f;
+        values[offset(slot, ITEMS) + head] = build.items != null ? build.items.total() : 0f;
+        values[offset(slot, LIQUID) + head] = build.liquids != null && build.block.liquidCapacity > 0f
+            ? build.liquids.currentAmount() / build.block.liquidCapacity : 0f;
+        values[offset(slot, EFFICIENCY) + head] = build.efficiency;
+
+        heads[slot] = (head + 1) % SAMPLES;
+        if (counts[slot] < SAMPLES) counts[slot]++;
+    }
+
+    private int freeSlot() {
+        int oldest = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (buildings[slot] == null) return slot;
+            if (lastWatched[slot] < lastWatched[oldest]) oldest = slot;
+        }
+        return oldest;
+    }
+
+    private static int offset(int slot, int channel) {
+        return (slot * CHANNELS + channel) * SAMPLES;
+    }
+}
@@ -0,0 +1,88 @@
+package tooltipsplus.data;
+
+import arc.Events;
+import arc.struct.IntIntMap;
+import mindustry.game.EventType;
+import mindustry.gen.*;
+
+public class DamageEventQueue {
+    private static final int CAPACITY = 512;
+
+    private final HitHandler handler;
+    private final IntIntMap pending = new IntIntMap(CAPACITY);
+    private final Healthc[] entities = new Healthc[CAPACITY];
+    private final float[] hints = new float[CAPACITY];
+    private final boolean[] destroyed = new boolean[CAPACITY];
+    private int size = 0;
+
+    public DamageEventQueue(HitHandler handler) {
+        this.handler = handler;
+    }
+
+    public void register() {
+        Events.on(EventType.UnitDamageEvent.class, e -> {
+            offer(e.unit, e.bullet != null ? e.bullet.damage : 0f, false);
+        });
+
+        Events.on(EventType.BuildDamageEvent.class, e -> {
+            float damage = e.source != null ? e.source.damage * e.source.type.buildingDamageMultiplier : 0f;
+            offer(e.build, damage, false);
+        });
+
+        Events.on(EventType.UnitDestroyEvent.class, e -> offer(e.unit, 0f, true));
+
+        Events.on(EventType.BlockDestroyEvent.class, e -> {
+            if (e.tile != null && e.tile.build != null) {
+                offer(e.tile.build, 0f, true);
+            }
+        });
+
+        Events.on(EventType.WorldLoadEvent.class, e -> clear());
+    }
+
+    public void offer(Healthc entity, float damageHint, boolean killed) {
+        if (entity == null) return;
+
+        int index = pending.get(entity.id(), -1);
+        if (index != -1) {
+            hints[index] += damageHint;
+            destroyed[index] |= killed;
+            return;
+        }
+
+        if (size == CAPACITY) {
+            drain();
+        }
+
+        entities[size] = entity;
+        hints[size] = damageHint;
+        destroyed[size] = killed;
+        pending.put(entity.id(), size);
+        size++;
+    }
+
+    public void drain() {
+        for (int i = 0; i < size; i++) {
+            handler.hit(entities[i], hints[i], destroyed[i]);
+            entities[i] = null;
+        }
+        pending.clear();
+        size = 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            entities[i] = null;
+        }
+        pending.clear();
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public interface HitHandler {
+        void hit(Healthc entity, float damageHint, boolean destroyed);
+    }
+}
@@ -0,0 +1,128 @@
+package tooltipsplus.data;
+
+import arc.math.Mathf;
+import arc.struct.IntIntMap;
+import mindustry.gen.*;
+import java.util.Arrays;
+
+public class HealthCache {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int FREE = -1;
+    private static final float SMOOTHING = 0.85f;
+
+    private final IntIntMap slots = new IntIntMap(INITIAL_CAPACITY);
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[] generation = new int[INITIAL_CAPACITY];
+    private Healthc[] entities = new Healthc[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+    private int highWater = 0;
+    private int currentGeneration = 0;
+
+    public float[] health = new float[INITIAL_CAPACITY];
+    public float[] displayHealth = new float[INITIAL_CAPACITY];
+    public float[] shield = new float[INITIAL_CAPACITY];
+    public float[] displayShield = new float[INITIAL_CAPACITY];
+    public float[] lastUpdate = new float[INITIAL_CAPACITY];
+    public float[] lastHit = new float[INITIAL_CAPACITY];
+
+    public int get(int id) {
+        return slots.get(id, -1);
+    }
+
+    public int add(Healthc entity, float time) {
+        int id = entity.id();
+        float currentHealth = entity.health();
+        float currentShield = entity instanceof Unit ? ((Unit)entity).shield : 0f;
+
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (highWater == ids.length) grow();
+            slot = highWater++;
+        }
+
+        ids[slot] = id;
+        entities[slot] = entity;
+        generation[slot] = currentGeneration;
+        health[slot] = currentHealth;
+        displayHealth[slot] = currentHealth;
+        shield[slot] = currentShield;
+        displayShield[slot] = currentShield;
+        lastUpdate[slot] = time;
+        lastHit[slot] = Float.NEGATIVE_INFINITY;
+        slots.put(id, slot);
+        return slot;
+    }
+
+    public Healthc entity(int slot) {
+        return entities[slot];
+    }
+
+    public void touch(int slot) {
+        generation[slot] = currentGeneration;
+    }
+
+    public void refresh(int slot, float time) {
+        Healthc entity = entities[slot];
+        float currentHealth = entity.health();
+        float currentShield = entity instanceof Unit ? ((Unit)entity).shield : 0f;
+        float alpha = 1f - (float)Math.pow(SMOOTHING, Math.max(time - lastUpdate[slot], 1f));
+
+        displayHealth[slot] = Mathf.lerp(displayHealth[slot], currentHealth, alpha);
+        displayShield[slot] = Mathf.lerp(displayShield[slot], currentShield, alpha);
+        lastUpdate[slot] = time;
+    }
+
+    public void sweep(int maxAge) {
+        for (int slot = 0; slot < highWater; slot++) {
+            if (ids[slot] == FREE) continue;
+            if (currentGeneration - generation[slot] >= maxAge) {
+                free(slot);
+            }
+        }
+        currentGeneration++;
+    }
+
+    public void remove(int id) {
+        int slot = slots.get(id, -1);
+        if (slot != -1) free(slot);
+    }
+
+    public void clear() {
+        Arrays.fill(entities, null);
+        slots.clear();
+        freeCount = 0;
+        highWater = 0;
+    }
+
+    public int size() {
+        return slots.size;
+    }
+
+    public int capacity() {
+        return highWater;
+    }
+
+    private void free(int slot) {
+        slots.remove(ids[slot], -1);
+        ids[slot] = FREE;
+        entities[slot] = null;
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        generation = Arrays.copyOf(generation, capacity);
+        entities = Arrays.copyOf(entities, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        health = Arrays.copyOf(health, capacity);
+        displayHealth = Arrays.copyOf(displayHealth, capacity);
+        shield = Arrays.copyOf(shield, capacity);
+        displayShield = Arrays.copyOf(displayShield, capacity);
+        lastUpdate = Arrays.copyOf(lastUpdate, capacity);
+        lastHit = Arrays.copyOf(lastHit, capacity);
+    }
+}
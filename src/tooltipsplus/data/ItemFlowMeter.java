@@ -0,0 +1,225 @@
+package tooltipsplus.data;
+
+import arc.Events;
+import arc.struct.IntIntMap;
+import arc.util.Interval;
+import arc.util.Time;
+import mindustry.Vars;
+import mindustry.game.EventType;
+import mindustry.gen.Building;
+import mindustry.world.blocks.distribution.Conveyor;
+import java.util.Arrays;
+
+public class ItemFlowMeter {
+    public static final int MAX_WATCHED = 16;
+    public static final int SPARE_WATCHED = 8;
+    public static final int SAMPLES = 10;
+    public static final float SAMPLE_TICKS = 30f;
+
+    private int capacity = MAX_WATCHED;
+    private Building[] buildings = new Building[MAX_WATCHED];
+    private float[] lastWatched = new float[MAX_WATCHED];
+    private int[] heads = new int[MAX_WATCHED];
+    private int[] filled = new int[MAX_WATCHED];
+    private float[] conveyorFlow = new float[MAX_WATCHED * SAMPLES];
+    private float[] lastHead = new float[MAX_WATCHED];
+    private int[] departed = new int[MAX_WATCHED];
+    private float[] departTicks = new float[MAX_WATCHED];
+    private final IntIntMap slots = new IntIntMap(MAX_WATCHED);
+    private final Interval timer = new Interval();
+
+    private int itemCount = -1;
+    private int[] previous;
+    private int[] deltas;
+
+    public void register() {
+        Events.run(EventType.Trigger.update, this::update);
+        Events.on(EventType.WorldLoadEvent.class, e -> clear());
+    }
+
+    public int watch(Building build) {
+        if (build == null || (build.items == null && !(build.block instanceof Conveyor))) return -1;
+        ensureCapacity();
+
+        int slot = slots.get(build.id, -1);
+        if (slot == -1) {
+            slot = freeSlot();
+            if (buildings[slot] != null) slots.remove(buildings[slot].id, -1);
+
+            buildings[slot] = build;
+            heads[slot] = 0;
+            filled[slot] = 0;
+            slots.put(build.id, slot);
+            snapshot(slot);
+        }
+
+        lastWatched[slot] = Time.time;
+        return slot;
+    }
+
+    public void reserve(int pinned) {
+        int needed = Math.max(MAX_WATCHED, pinned + SPARE_WATCHED);
+        if (needed <= capacity) return;
+
+        capacity = needed;
+        buildings = Arrays.copyOf(buildings, capacity);
+        lastWatched = Arrays.copyOf(lastWatched, capacity);
+        heads = Arrays.copyOf(heads, capacity);
+        filled = Arrays.copyOf(filled, capacity);
+        conveyorFlow = Arrays.copyOf(conveyorFlow, capacity * SAMPLES);
+        lastHead = Arrays.copyOf(lastHead, capacity);
+        departed = Arrays.copyOf(departed, capacity);
+        departTicks = Arrays.copyOf(departTicks, capacity);
+        if (itemCount > 0) {
+            previous = Arrays.copyOf(previous, capacity * itemCount);
+            deltas = Arrays.copyOf(deltas, capacity * SAMPLES * itemCount);
+        }
+    }
+
+    public boolean measured(int slot) {
+        return slot >= 0 && filled[slot] > 0;
+    }
+
+    public float inRate(int slot, int item) {
+        return sum(slot, item, true) / windowSeconds(slot);
+    }
+
+    public float outRate(int slot, int item) {
+        return sum(slot, item, false) / windowSeconds(slot);
+    }
+
+    public float totalInRate(int slot) {
+        float total = 0f;
+        for (int item = 0; item < itemCount; item++) total += sum(slot, item, true);
+        return total / windowSeconds(slot);
+    }
+
+    public float totalOutRate(int slot) {
+        float total = 0f;
+        for (int item = 0; item < itemCount; item++) total += sum(slot, item, false);
+        return total / windowSeconds(slot);
+    }
+
+    public float conveyorRate(int slot) {
+        float total = 0f;
+        int base = slot * SAMPLES;
+        for (int i = 0; i < filled[slot]; i++) {
+            total += conveyorFlow[base + (heads[slot] - 1 - i + SAMPLES) % SAMPLES];
+        }
+        return total / filled[slot];
+    }
+
+    public void clear() {
+        Arrays.fill(buildings, null);
+        Arrays.fill(filled, 0);
+        slots.clear();
+    }
+
+    void update() {
+        if (!Vars.state.isPlaying()) return;
+
+        trackDepartures();
+        if (!timer.get(SAMPLE_TICKS)) return;
+
+        for (int slot = 0; slot < capacity; slot++) {
+            Building build = buildings[slot];
+            if (build == null) continue;
+
+            if (!build.isValid()) {
+                slots.remove(build.id, -1);
+                buildings[slot] = null;
+                filled[slot] = 0;
+                continue;
+            }
+
+            sample(slot);
+        }
+    }
+
+    private void sample(int slot) {
+        Building build = buildings[slot];
+        int head = heads[slot];
+
+        if (build.items != null) {
+            int base = slot * itemCount;
+            int sampleBase = (slot * SAMPLES + head) * itemCount;
+            for (int item = 0; item < itemCount; item++) {
+                int amount = build.items.get(item);
+                deltas[sampleBase + item] = amount - previous[base + item];
+                previous[base + item] = amount;
+            }
+        }
+
+        if (build instanceof Conveyor.ConveyorBuild) {
+            conveyorFlow[slot * SAMPLES + head] = departTicks[slot] > 0f ? departed[slot] * 60f / departTicks[slot] : 0f;
+            departed[slot] = 0;
+            departTicks[slot] = 0f;
+        }
+
+        heads[slot] = (head + 1) % SAMPLES;
+        if (filled[slot] < SAMPLES) filled[slot]++;
+    }
+
+    private void trackDepartures() {
+        for (int slot = 0; slot < capacity; slot++) {
+            Building build = buildings[slot];
+            if (!(build instanceof Conveyor.ConveyorBuild) || !build.isValid()) continue;
+
+            float headY = headPosition((Conveyor.ConveyorBuild)build);
+            if (headY < lastHead[slot]) departed[slot]++;
+            lastHead[slot] = headY;
+            departTicks[slot] += Time.delta;
+        }
+    }
+
+    private static float headPosition(Conveyor.ConveyorBuild conveyor) {
+        return conveyor.len > 0 ? conveyor.ys[conveyor.len - 1] : -1f;
+    }
+
+    private void snapshot(int slot) {
+        Building build = buildings[slot];
+        if (build instanceof Conveyor.ConveyorBuild) {
+            lastHead[slot] = headPosition((Conveyor.ConveyorBuild)build);
+            departed[slot] = 0;
+            departTicks[slot] = 0f;
+        }
+        if (build.items == null) return;
+
+        int base = slot * itemCount;
+        for (int item = 0; item < itemCount; item++) {
+            previous[base + item] = build.items.get(item);
+        }
+    }
+
+    private float sum(int slot, int item, boolean incoming) {
+        float total = 0f;
+        for (int i = 0; i < filled[slot]; i++) {
+            int delta = deltas[(slot * SAMPLES + i) * itemCount + item];
+            if (incoming ? delta > 0 : delta < 0) total += Math.abs(delta);
+        }
+        return total;
+    }
+
+    private float windowSeconds(int slot) {
+        return Math.max(filled[slot], 1) * SAMPLE_TICKS / 60f;
+    }
+
+    private void ensureCapacity() {
+        int items = Vars.content.items().size;
+        if (items == itemCount) return;
+
+        itemCount = items;
+        previous = new int[capacity * itemCount];
+        deltas = new int[capacity * SAMPLES * itemCount];
+        clear();
+    }
+
+    private int freeSlot() {
+        int oldest = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (buildings[slot] == null) return slot;
+            if (lastWatched[slot] < lastWatched[oldest]) oldest = slot;
+        }
+        return oldest;
+    }
+}
@@ -0,0 +1,67 @@
+package tooltipsplus.data;
+
+import arc.Events;
+import arc.struct.IntMap;
+import arc.util.Time;
+import mindustry.game.EventType;
+import mindustry.world.blocks.power.PowerGraph;
+
+public class PowerGridStats {
+    private static final int MAX_GRAPHS = 256;
+
+    private final IntMap<Entry> entries = new IntMap<>();
+
+    public void register() {
+        Events.on(EventType.WorldLoadEvent.class, e -> entries.clear());
+    }
+
+    public Entry get(PowerGraph graph) {
+        int id = graph.getID();
+        Entry entry = entries.get(id);
+
+        if (entry == null) {
+            if (entries.size >= MAX_GRAPHS) entries.clear();
+            entry = new Entry();
+            entries.put(id, entry);
+        }
+
+        if (entry.graph != graph || entry.stamp != Time.time) {
+            entry.update(graph);
+        }
+        return entry;
+    }
+
+    public static class Entry {
+        public float produced;
+        public float needed;
+        public float balance;
+        public float stored;
+        public float capacity;
+        public float satisfaction;
+        public float secondsToEmpty = -1f;
+        public float secondsToFull = -1f;
+
+        PowerGraph graph;
+        float stamp = Float.NaN;
+
+        void update(PowerGraph graph) {
+            this.graph = graph;
+            stamp = Time.time;
+
+            produced = graph.getLastScaledPowerIn() * 60f;
+            needed = graph.getLastScaledPowerOut() * 60f;
+            balance = graph.getPowerBalance() * 60f;
+            stored = graph.getLastPowerStored();
+            capacity = graph.getLastCapacity();
+            satisfaction = graph.getSatisfaction();
+
+            secondsToEmpty = -1f;
+            secondsToFull = -1f;
+            if (balance < 0f && stored > 0f) {
+                secondsToEmpty = stored / -balance;
+            } else if (balance > 0f && capacity > stored) {
+                secondsToFull = (capacity - stored) / balance;
+            }
+        }
+    }
+}
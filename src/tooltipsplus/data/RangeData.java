@@ -7,11 +7,19 @@ public class RangeData {
     public Color color;
     public boolean isPulsing;
     
+    public RangeData() {
+    }
+    
     public RangeData(float x, float y, float range, Color color, boolean pulse) {
+        set(x, y, range, color, pulse);
+    }
+    
+    public RangeData set(float x, float y, float range, Color color, boolean pulse) {
         this.x = x;
         this.y = y;
         this.range = range;
         this.color = color;
         this.isPulsing = pulse;
+        return this;
     }
 }
@@ -0,0 +1,165 @@
+package tooltipsplus.data;
+
+import arc.Events;
+import arc.struct.IntIntMap;
+import arc.util.Interval;
+import mindustry.Vars;
+import mindustry.game.EventType;
+import mindustry.gen.*;
+import mindustry.world.Block;
+import mindustry.world.blocks.defense.MendProjector;
+import mindustry.world.blocks.defense.OverdriveProjector;
+import mindustry.world.blocks.defense.turrets.Turret;
+import mindustry.world.blocks.units.RepairTurret;
+import mindustry.world.blocks.units.UnitFactory;
+import java.util.Arrays;
+
+public class RangeIndex {
+    public static final int NONE = -1;
+    public static final int TURRET = 0;
+    public static final int MEND = 1;
+    public static final int OVERDRIVE = 2;
+    public static final int REPAIR = 3;
+    public static final int FACTORY = 4;
+
+    private static final float CLIENT_RESYNC_TICKS = 600f;
+    private static final float FACTORY_RANGE = 40f;
+
+    public Building[] buildings = new Building[128];
+    public float[] x = new float[128];
+    public float[] y = new float[128];
+    public float[] range = new float[128];
+    public int[] kind = new int[128];
+    public int[] team = new int[128];
+
+    private int size = 0;
+    private final IntIntMap slots = new IntIntMap();
+    private final Interval resync = new Interval();
+
+    public void register() {
+        Events.on(EventType.BlockBuildEndEvent.class, e -> {
+            if (e.tile == null) return;
+            if (e.breaking) {
+                remove(e.tile.pos());
+            } else {
+                add(e.tile.build);
+            }
+        });
+        Events.on(EventType.BlockDestroyEvent.class, e -> {
+            if (e.tile != null) remove(e.tile.pos());
+        });
+        Events.on(EventType.BuildTeamChangeEvent.class, e -> {
+            if (e.build == null) return;
+            int slot = slots.get(e.build.pos(), -1);
+            if (slot != -1) team[slot] = e.build.team.id;
+        });
+        Events.on(EventType.TileChangeEvent.class, e -> {
+            if (e.tile == null) return;
+            if (e.tile.build == null) {
+                remove(e.tile.pos());
+            } else {
+                add(e.tile.build);
+            }
+        });
+        Events.on(EventType.WorldLoadEvent.class, e -> rebuild());
+        Events.run(EventType.Trigger.update, this::update);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    void update() {
+        if (Vars.net.client() && resync.get(CLIENT_RESYNC_TICKS)) rebuild();
+    }
+
+    public static int kindOf(Block block) {
+        if (block instanceof Turret) return TURRET;
+        if (block instanceof MendProjector) return MEND;
+        if (block instanceof OverdriveProjector) return OVERDRIVE;
+        if (block instanceof RepairTurret) return REPAIR;
+        if (block instanceof UnitFactory) return FACTORY;
+        return NONE;
+    }
+
+    public static float rangeOf(Block block, int kind) {
+        switch (kind) {
+            case TURRET: return ((Turret)block).range;
+            case MEND: return ((MendProjector)block).range;
+            case OVERDRIVE: return ((OverdriveProjector)block).range;
+            case REPAIR: return ((RepairTurret)block).repairRadius;
+            case FACTORY: return FACTORY_RANGE;
+            default: return 0f;
+        }
+    }
+
+    public void rebuild() {
+        Arrays.fill(buildings, 0, size, null);
+        size = 0;
+        slots.clear();
+
+        for (int i = 0; i < Groups.build.size(); i++) {
+            add(Groups.build.index(i));
+        }
+    }
+
+    void add(Building build) {
+        if (build == null || !build.isValid()) return;
+
+        int pos = build.pos();
+        int type = kindOf(build.block);
+        if (type == NONE) {
+            remove(pos);
+            return;
+        }
+
+        int slot = slots.get(pos, -1);
+        if (slot == -1) {
+            if (size == buildings.length) grow();
+            slot = size++;
+            slots.put(pos, slot);
+        }
+
+        buildings[slot] = build;
+        x[slot] = build.x;
+        y[slot] = build.y;
+        kind[slot] = type;
+        range[slot] = rangeOf(build.block, type);
+        team[slot] = build.team.id;
+    }
+
+    public boolean validate(int slot) {
+        Building build = buildings[slot];
+        if (build.isValid() && build.tile.build == build) return true;
+
+        remove(build.pos());
+        return false;
+    }
+
+    void remove(int pos) {
+        int slot = slots.remove(pos, -1);
+        if (slot == -1) return;
+
+        int last = --size;
+        if (slot != last) {
+            buildings[slot] = buildings[last];
+            x[slot] = x[last];
+            y[slot] = y[last];
+            range[slot] = range[last];
+            kind[slot] = kind[last];
+            team[slot] = team[last];
+            slots.put(buildings[slot].pos(), slot);
+        }
+        buildings[last] = null;
+    }
+
+    private void grow() {
+        int capacity = buildings.length * 2;
+        buildings = Arrays.copyOf(buildings, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        range = Arrays.copyOf(range, capacity);
+        kind = Arrays.copyOf(kind, capacity);
+        team = Arrays.copyOf(team, capacity);
+    }
+}
@@ -0,0 +1,112 @@
+package tooltipsplus.data;
+
+import arc.graphics.g2d.TextureRegion;
+import arc.struct.Seq;
+import arc.util.Strings;
+import mindustry.Vars;
+import mindustry.content.Blocks;
+import mindustry.type.Item;
+import mindustry.type.Liquid;
+import mindustry.world.Block;
+import mindustry.world.Tile;
+import tooltipsplus.util.ColorUtil;
+
+public class ResourceInfoCache {
+    private final ColorUtil colors;
+    private Entry[] entries = new Entry[0];
+    private String statColor, accentColor, warningColor, infoColor;
+
+    public ResourceInfoCache(ColorUtil colors) {
+        this.colors = colors;
+    }
+
+    public static Block source(Tile tile) {
+        if (tile == null) return null;
+        if (tile.overlay() != Blocks.air && tile.overlay().itemDrop != null) return tile.overlay();
+        if (tile.floor() != Blocks.air && tile.floor().liquidDrop != null) return tile.floor();
+        if (tile.block() != Blocks.air) return tile.block();
+        return null;
+    }
+
+    public Entry get(Block block) {
+        if (block == null) return null;
+
+        if (colors.statColor != statColor || colors.accentColor != accentColor
+            || colors.warningColor != warningColor || colors.infoColor != infoColor
+            || entries.length != Vars.content.blocks().size) {
+            entries = new Entry[Vars.content.blocks().size];
+            statColor = colors.statColor;
+            accentColor = colors.accentColor;
+            warningColor = colors.warningColor;
+            infoColor = colors.infoColor;
+        }
+
+        Entry entry = entries[block.id];
+        if (entry == null) {
+            entry = entries[block.id] = build(block);
+        }
+        return entry;
+    }
+
+    Entry build(Block block) {
+        Seq<String> lines = new Seq<>(String.class);
+
+        if (block.itemDrop != null && block.isOverlay()) {
+            Item drop = block.itemDrop;
+            lines.add(colors.statColor + "Type: " + colors.infoColor + "Ore Resource");
+            lines.add(colors.statColor + "Block: " + colors.infoColor + block.localizedName);
+
+            if (drop.hardness > 0) {
+                lines.add(colors.statColor + "Hardness: " + colors.infoColor + drop.hardness);
+            }
+            if (drop.cost > 0) {
+                lines.add(colors.statColor + "Value: " + colors.infoColor + Strings.autoFixed(drop.cost, 2));
+            }
+            if (drop.explosiveness > 0) {
+                lines.add(colors.warningColor + "⚠ Explosive: " + (int)(drop.explosiveness * 100) + "%");
+            }
+            if (drop.flammability > 0) {
+                lines.add(colors.warningColor + "🔥 Flammable: " + (int)(drop.flammability * 100) + "%");
+            }
+            if (drop.radioactivity > 0) {
+                lines.add(colors.warningColor + "☢ Radioactive: " + (int)(drop.radioactivity * 100) + "%");
+            }
+
+            return new Entry(drop.fullIcon, drop.localizedName, lines.toArray());
+        }
+
+        if (block.isFloor() && block.asFloor().liquidDrop != null) {
+            Liquid liquid = block.asFloor().liquidDrop;
+            lines.add(colors.statColor + "Type: " + colors.infoColor + "Liquid Pool");
+            lines.add(colors.statColor + "Block: " + colors.infoColor + block.localizedName);
+            lines.add(colors.statColor + "Temperature: " + colors.infoColor + (int)(liquid.temperature * 100) + "°C");
+
+            if (liquid.viscosity > 0) {
+                lines.add(colors.statColor + "Viscosity: " + colors.infoColor + Strings.fixed(liquid.viscosity, 2));
+            }
+            if (liquid.flammability > 0) {
+                lines.add(colors.warningColor + "🔥 Flammable: " + (int)(liquid.flammability * 100) + "%");
+            }
+            if (liquid.explosiveness > 0) {
+                lines.add(colors.warningColor + "⚠ Explosive: " + (int)(liquid.explosiveness * 100) + "%");
+            }
+
+            return new Entry(liquid.fullIcon, liquid.localizedName, lines.toArray());
+        }
+
+        lines.add(colors.statColor + "Type: " + colors.infoColor + "Environment Block");
+        return new Entry(block.fullIcon, block.localizedName, lines.toArray());
+    }
+
+    public static class Entry {
+        public final TextureRegion icon;
+        public final String title;
+        public final String[] lines;
+
+        Entry(TextureRegion icon, String title, String[] lines) {
+            this.icon = icon;
+            this.title = title;
+            this.lines = lines;
+        }
+    }
+}
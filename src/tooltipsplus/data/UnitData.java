@@ -1,71 +1,72 @@
 package tooltipsplus.data;
 
-import arc.scene.ui.layout.Table;
-import arc.util.Strings;
 import mindustry.gen.Unit;
 import tooltipsplus.config.Settings;
+import tooltipsplus.ui.TooltipRows;
 import tooltipsplus.util.ColorUtil;
 
 public class UnitData {
     private Settings settings;
     private ColorUtil colors;
+    private UnitStatsTable stats;
     
-    public UnitData(Settings settings, ColorUtil colors) {
+    public UnitData(Settings settings, ColorUtil colors, UnitStatsTable stats) {
         this.settings = settings;
         this.colors = colors;
+        this.stats = stats;
     }
     
-    public void addHealthInfo(Table table, Unit unit) {
+    public void addHealthInfo(TooltipRows rows, Unit unit) {
         float healthPercent = (unit.health / unit.maxHealth) * 100f;
         String healthColor = colors.getPercentColor(healthPercent);
         
-        table.add("🛡" + colors.statColor + "HP: " + healthColor + (int)unit.health + colors.infoColor + "/" + (int)unit.maxHealth).left().row();
+        rows.line().append("🛡").append(colors.statColor).append("HP: ").append(healthColor).append((int)unit.health).append(colors.infoColor).append('/').append((int)unit.maxHealth);
         
         if (settings.showShieldStacks && unit.shield > 0) {
-            table.add("🛡" + colors.statColor + "Shield: " + colors.successColor + (int)unit.shield).left().row();
+            rows.line().append("🛡").append(colors.statColor).append("Shield: ").append(colors.successColor).append((int)unit.shield);
         }
         
         if (unit.type.armor > 0) {
-            table.add("  " + colors.infoColor + "Armor: " + colors.accentColor + (int)unit.type.armor).left().row();
+            rows.line().append("  ").append(colors.infoColor).append("Armor: ").append(colors.accentColor).append((int)unit.type.armor);
         }
         
         if (settings.showWarnings && healthPercent < 25f) {
-            table.add("  " + colors.warningColor + "⚠ Critical HP!").left().row();
+            rows.line().append("  ").append(colors.warningColor).append("⚠ Critical HP!");
         }
     }
     
-    public void addAdvancedInfo(Table table, Unit unit) {
+    public void addAdvancedInfo(TooltipRows rows, Unit unit) {
         if (!settings.showUnitAdvanced) return;
         
-        table.add("✈" + colors.statColor + "Speed: " + colors.accentColor + Strings.autoFixed(unit.type.speed * 60f, 1)).left().row();
+        int id = stats.ensure(unit.type);
         
-        if (unit.type.mineSpeed > 0) {
-            table.add("⛏" + colors.statColor + "Mine: " + colors.accentColor + Strings.autoFixed(unit.type.mineSpeed, 1) + "/s").left().row();
+        rows.line().append("✈").append(colors.statColor).append("Speed: ").append(colors.accentColor).append(stats.speedText[id]);
+        
+        if (stats.mineText[id] != null) {
+            rows.line().append("⛏").append(colors.statColor).append("Mine: ").append(colors.accentColor).append(stats.mineText[id]).append("/s");
         }
         
-        if (unit.type.buildSpeed > 0) {
-            table.add("🔨" + colors.statColor + "Build: " + colors.accentColor + Strings.autoFixed(unit.type.buildSpeed, 1) + "/s").left().row();
+        if (stats.buildText[id] != null) {
+            rows.line().append("🔨").append(colors.statColor).append("Build: ").append(colors.accentColor).append(stats.buildText[id]).append("/s");
         }
         
-        if (unit.type.itemCapacity > 0) {
+        if (stats.itemCapacity[id] > 0) {
             int carrying = unit.stack != null && unit.stack.item != null ? unit.stack.amount : 0;
-            table.add("📦" + colors.statColor + "Carry: " + colors.accentColor + carrying + colors.infoColor + "/" + unit.type.itemCapacity).left().row();
+            rows.line().append("📦").append(colors.statColor).append("Carry: ").append(colors.accentColor).append(carrying).append(colors.infoColor).append('/').append(stats.itemCapacity[id]);
         }
     }
     
-    public void addWeaponInfo(Table table, Unit unit) {
+    public void addWeaponInfo(TooltipRows rows, Unit unit) {
         if (!settings.showUnitAdvanced || unit.type.weapons.size == 0) return;
         
-        float totalDPS = 0f;
-        for (var weapon : unit.type.weapons) {
-            if (weapon.bullet != null) {
-                float dps = weapon.bullet.damage * (60f / weapon.reload);
-                totalDPS += dps;
-            }
+        int id = stats.ensure(unit.type);
+        
+        if (stats.dpsText[id] != null) {
+            rows.line().append("⚔").append(colors.statColor).append("DPS: ").append(colors.accentColor).append(stats.dpsText[id]);
         }
         
-        if (totalDPS > 0) {
-            table.add("⚔" + colors.statColor + "DPS: " + colors.accentColor + Strings.autoFixed(totalDPS, 1)).left().row();
+        if (stats.rangeText[id] != null) {
+            rows.line().append("◎").append(colors.statColor).append("Range: ").append(colors.accentColor).append(stats.rangeText[id]).append(colors.infoColor).append(" tiles");
         }
     }
 }
@@ -0,0 +1,75 @@
+package tooltipsplus.data;
+
+import arc.util.Strings;
+import mindustry.Vars;
+import mindustry.entities.bullet.BulletType;
+import mindustry.type.UnitType;
+import mindustry.type.Weapon;
+import java.util.Arrays;
+
+public class UnitStatsTable {
+    private boolean[] built = {};
+
+    public float[] dps = {};
+    public float[] range = {};
+    public float[] speed = {};
+    public int[] itemCapacity = {};
+
+    public String[] dpsText = {};
+    public String[] rangeText = {};
+    public String[] speedText = {};
+    public String[] mineText = {};
+    public String[] buildText = {};
+
+    public int ensure(UnitType type) {
+        int id = type.id;
+        if (id >= built.length) grow(Math.max(Vars.content.units().size, id + 1));
+        if (!built[id]) build(type);
+        return id;
+    }
+
+    void build(UnitType type) {
+        int id = type.id;
+
+        float total = 0f;
+        for (int i = 0; i < type.weapons.size; i++) {
+            total += weaponDps(type.weapons.get(i));
+        }
+
+        dps[id] = total;
+        range[id] = type.maxRange;
+        speed[id] = type.speed * 60f;
+        itemCapacity[id] = type.itemCapacity;
+
+        dpsText[id] = total > 0 ? Strings.autoFixed(total, 1) : null;
+        rangeText[id] = type.maxRange > 0 ? Strings.autoFixed(type.maxRange / 8f, 1) : null;
+        speedText[id] = Strings.autoFixed(speed[id], 1);
+        mineText[id] = type.mineSpeed > 0 ? Strings.autoFixed(type.mineSpeed, 1) : null;
+        buildText[id] = type.buildSpeed > 0 ? Strings.autoFixed(type.buildSpeed, 1) : null;
+
+        built[id] = true;
+    }
+
+    static float weaponDps(Weapon weapon) {
+        BulletType bullet = weapon.bullet;
+        if (bullet == null || weapon.reload <= 0f) return 0f;
+
+        float damage = bullet.damage;
+        if (bullet.splashDamageRadius > 0f) damage += bullet.splashDamage;
+
+        return damage * weapon.shoot.shots * (60f / weapon.reload);
+    }
+
+    private void grow(int size) {
+        built = Arrays.copyOf(built, size);
+        dps = Arrays.copyOf(dps, size);
+        range = Arrays.copyOf(range, size);
+        speed = Arrays.copyOf(speed, size);
+        itemCapacity = Arrays.copyOf(itemCapacity, size);
+        dpsText = Arrays.copyOf(dpsText, size);
+        rangeText = Arrays.copyOf(rangeText, size);
+        speedText = Arrays.copyOf(speedText, size);
+        mineText = Arrays.copyOf(mineText, size);
+        buildText = Arrays.copyOf(buildText, size);
+    }
+}
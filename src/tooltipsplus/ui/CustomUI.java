@@ -3,7 +3,7 @@ package tooltipsplus.ui;
 import arc.graphics.*;
 import arc.graphics.g2d.*;
 import arc.math.geom.Vec2;
-import mindustry.gen.Groups;
+import mindustry.gen.*;
 import mindustry.ui.Fonts;
 import tooltipsplus.config.*;
 
@@ -15,8 +15,9 @@ public class CustomUI {
     }
     
     public void drawCustomHealthBars() {
-        Groups.unit.each(unit -> {
-            if (!unit.isValid() || unit.dead || unit.health <= 0) return;
+        for (int i = 0; i < Groups.unit.size(); i++) {
+            Unit unit = Groups.unit.index(i);
+            if (!unit.isValid() || unit.dead || unit.health <= 0) continue;
             
             float x = unit.x;
             float y = unit.y + unit.hitSize / 2f + 15f;
@@ -30,7 +31,7 @@ public class CustomUI {
                 float shieldPercent = Math.min(unit.shield / unit.maxHealth, 1f);
                 drawShieldBar(x, y + 10f, width, 5f, shieldPercent);
             }
-        });
+        }
     }
     
     void drawRoundedHealthBar(float x, float y, float width, float height, float percent) {
@@ -39,9 +40,9 @@ public class CustomUI {
         Draw.color(Color.black, 0.6f);
         Fill.rect(x, y, width + 2f, height + 2f, radius);
         
-        Color barColor = percent > 0.6f ? Color.valueOf("84f491") : 
-                        percent > 0.3f ? Color.valueOf("f4d03f") : 
-                        Color.valueOf("ff6b6b");
+        Color barColor = percent > 0.6f ? Constants.TEAM_ALLY : 
+                        percent > 0.3f ? Constants.HEALTH_WARNING : 
+                        Constants.TEAM_ENEMY;
         
         Draw.color(barColor);
         float filledWidth = width * percent;
@@ -55,10 +56,10 @@ public class CustomUI {
     }
     
     void drawShieldBar(float x, float y, float width, float height, float percent) {
-        Draw.color(Color.valueOf("84f491"), 0.3f);
+        Draw.color(Constants.TEAM_ALLY, 0.3f);
         Fill.rect(x, y, width, height);
         
-        Draw.color(Color.valueOf("84f491"), 0.8f);
+        Draw.color(Constants.TEAM_ALLY, 0.8f);
         Fill.rect(x - width/2f + (width * percent)/2f, y, width * percent, height);
         
         Draw.reset();
@@ -0,0 +1,156 @@
+package tooltipsplus.ui;
+
+import arc.graphics.Color;
+import arc.math.Interp;
+import arc.math.Mathf;
+import arc.struct.IntIntMap;
+import arc.util.Time;
+import tooltipsplus.config.Constants;
+
+public class DamageNumberRing {
+    private static final int CAPACITY = 80;
+    private static final float AGGREGATE_TICKS = 20f;
+
+    private final DamageNumber[] numbers = new DamageNumber[CAPACITY];
+    private final IntIntMap recent = new IntIntMap(CAPACITY);
+    private int cursor = 0;
+    private int active = 0;
+
+    public DamageNumberRing() {
+        for (int i = 0; i < CAPACITY; i++) {
+            numbers[i] = new DamageNumber();
+        }
+    }
+
+    public void spawn(int entityId, float x, float y, float amount, float sizeScale) {
+        int key = amount < 0 ? entityId : -entityId - 1;
+
+        int slot = recent.get(key, -1);
+        if (slot != -1) {
+            DamageNumber dn = numbers[slot];
+            if (dn.active && dn.key == key && Time.time - dn.spawnTime <= AGGREGATE_TICKS) {
+                dn.merge(amount);
+                return;
+            }
+        }
+
+        slot = claimSlot();
+
+        DamageNumber dn = numbers[slot];
+        if (dn.active) {
+            release(slot);
+        }
+
+        dn.set(key, x, y, amount, sizeScale);
+        recent.put(key, slot);
+        active++;
+    }
+
+    public void updateAndDraw(QuadBatch batch, NumberGlyphs glyphs, boolean draw) {
+        if (active == 0) return;
+
+        for (int i = 0; i < CAPACITY; i++) {
+            DamageNumber dn = numbers[i];
+            if (!dn.active) continue;
+
+            dn.update();
+            if (dn.lifetime <= 0) {
+                release(i);
+                continue;
+            }
+            if (draw) dn.draw(batch, glyphs);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < CAPACITY; i++) {
+            numbers[i].active = false;
+        }
+        recent.clear();
+        active = 0;
+    }
+
+    public int size() {
+        return active;
+    }
+
+    private int claimSlot() {
+        int victim = cursor;
+        for (int n = 0; n < CAPACITY; n++) {
+            int i = (cursor + n) % CAPACITY;
+            DamageNumber dn = numbers[i];
+            if (!dn.active) {
+                cursor = (i + 1) % CAPACITY;
+                return i;
+            }
+
+            DamageNumber worst = numbers[victim];
+            if (dn.lifetime < worst.lifetime || (dn.lifetime == worst.lifetime && Math.abs(dn.amount) < Math.abs(worst.amount))) {
+                victim = i;
+            }
+        }
+        cursor = (victim + 1) % CAPACITY;
+        return victim;
+    }
+
+    private void release(int slot) {
+        DamageNumber dn = numbers[slot];
+        if (recent.get(dn.key, -1) == slot) {
+            recent.remove(dn.key, -1);
+        }
+        dn.active = false;
+        active--;
+    }
+
+    static class DamageNumber {
+        int key;
+        boolean active;
+        float x, y, amount;
+        float lifetime = 60f;
+        float scale = 1f;
+        float startScale = 0f;
+        float spawnTime;
+
+        void set(int key, float x, float y, float amount, float sizeScale) {
+            this.key = key;
+            this.active = true;
+            this.x = x + Mathf.range(6f);
+            this.y = y;
+            this.amount = amount;
+            this.lifetime = 60f;
+            this.scale = sizeScale;
+            this.startScale = 0f;
+            this.spawnTime = Time.time;
+        }
+
+        void merge(float amount) {
+            this.amount += amount;
+            this.lifetime = 60f;
+            this.startScale = 0.5f;
+            this.spawnTime = Time.time;
+        }
+
+        void update() {
+            lifetime -= Time.delta;
+            startScale = Mathf.lerp(startScale, 1f, 0.2f);
+            y += Time.delta * 0.5f;
+        }
+
+        void draw(QuadBatch batch, NumberGlyphs glyphs) {
+            float alpha = Mathf.clamp(lifetime / 60f);
+            float pop = Interp.elasticOut.apply(Mathf.clamp(startScale));
+            float growth = 1f + Math.min(Mathf.log(10f, Math.abs(amount) + 1f) * 0.08f, 0.4f);
+            float finalScale = (0.8f + pop * 0.4f) * scale * growth;
+
+            boolean isDamage = amount < 0;
+            Color color = isDamage ? Constants.NUMBER_DAMAGE : Constants.NUMBER_HEAL;
+            char prefix = isDamage ? '-' : '+';
+            int value = (int)Math.abs(amount);
+            float packed = Color.toFloatBits(color.r, color.g, color.b, alpha);
+
+            float width = glyphs.charWidth(prefix, finalScale) + glyphs.intWidth(value, finalScale);
+            float textX = glyphs.drawChar(batch, prefix, x - width/2f, y, finalScale, packed);
+            glyphs.drawInt(batch, value, textX, y, finalScale, packed);
+        }
+    }
+}
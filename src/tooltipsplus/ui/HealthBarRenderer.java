@@ -0,0 +1,155 @@
+package tooltipsplus.ui;
+
+import arc.Core;
+import arc.graphics.Color;
+import arc.graphics.g2d.*;
+import arc.math.Mathf;
+import arc.util.Time;
+import java.util.Arrays;
+
+public class HealthBarRenderer {
+    private static final int TEXT_HEALTH = 0;
+    private static final int TEXT_STACKS = 1;
+    private static final int TEXT_DURATION = 2;
+
+    private final QuadBatch bars = new QuadBatch(512);
+    private final QuadBatch text = new QuadBatch(512);
+    private final NumberGlyphs glyphs;
+
+    private int textCount = 0;
+    private int[] textKind = new int[128];
+    private int[] textFirst = new int[128];
+    private int[] textSecond = new int[128];
+    private float[] textX = new float[128];
+    private float[] textY = new float[128];
+    private float[] textScale = new float[128];
+    private Color[] textColor = new Color[128];
+
+    private float pulse;
+    private int barCount = 0;
+    private int lastBarCount = 0;
+    private int lastSubmitCount = 0;
+
+    public HealthBarRenderer(NumberGlyphs glyphs) {
+        this.glyphs = glyphs;
+    }
+
+    public void begin() {
+        pulse = Mathf.absin(Time.time / 60f * 5f, 0.15f);
+        bars.resetStats();
+        text.resetStats();
+        barCount = 0;
+        textCount = 0;
+    }
+
+    public void bar(float x, float y, float width, float height, float percent, Color baseColor) {
+        TextureRegion white = Core.atlas.white();
+        float fillWidth = width * percent;
+        float fillX = x - width / 2f + fillWidth / 2f;
+
+        bars.rect(white, x, y, width + 3f, height + 3f, Color.toFloatBits(0f, 0f, 0f, 0.75f));
+        bars.rect(white, x, y, width, height, Color.toFloatBits(0.2f, 0.2f, 0.2f, 0.6f));
+
+        if (fillWidth > 0f) {
+            bars.rect(white, fillX, y, fillWidth, height,
+                Color.toFloatBits(baseColor.r * 0.6f, baseColor.g * 0.6f, baseColor.b * 0.6f, 0.8f));
+            bars.rect(white, fillX, y, fillWidth, height * 0.7f,
+                Color.toFloatBits(baseColor.r, baseColor.g, baseColor.b, 0.9f));
+            bars.rect(white, fillX, y + height / 2f - 1f, fillWidth, 1.5f,
+                Color.toFloatBits(1f, 1f, 1f, 0.25f + pulse));
+        }
+
+        barCount++;
+    }
+
+    public void pip(float x, float y, float size, Color color) {
+        TextureRegion white = Core.atlas.white();
+        bars.rect(white, x, y, size + 2f, size + 2f, Color.toFloatBits(0f, 0f, 0f, 0.75f));
+        bars.rect(white, x, y, size, size, Color.toFloatBits(color.r, color.g, color.b, 0.9f));
+        barCount++;
+    }
+
+    public void healthText(float x, float y, float health, float maxHealth, float scale) {
+        addText(TEXT_HEALTH, (int)health, (int)maxHealth, x, y, scale, Color.white);
+    }
+
+    public void stackText(float x, float y, int stacks, float scale, Color color) {
+        addText(TEXT_STACKS, stacks, 0, x, y, scale, color);
+    }
+
+    public void durationText(float x, float y, float ticks, float scale, Color color) {
+        int seconds = (int)(ticks / 60f);
+        if (seconds > 60) {
+            int minutes = seconds / 60;
+            if (minutes > 60) {
+                addText(TEXT_DURATION, minutes / 60, 'h', x, y, scale, color);
+            } else {
+                addText(TEXT_DURATION, minutes, 'm', x, y, scale, color);
+            }
+        } else {
+            addText(TEXT_DURATION, seconds, 's', x, y, scale, color);
+        }
+    }
+
+    public void end() {
+        bars.flush(Core.atlas.white().texture);
+
+        if (textCount > 0 && glyphs.load()) {
+            for (int i = 0; i < textCount; i++) {
+                float scale = textScale[i];
+                float color = textColor[i].toFloatBits();
+
+                if (textKind[i] == TEXT_HEALTH) {
+                    float width = glyphs.intWidth(textFirst[i], scale) + glyphs.charWidth('/', scale) + glyphs.intWidth(textSecond[i], scale);
+                    float x = textX[i] - width / 2f;
+                    x = glyphs.drawInt(text, textFirst[i], x, textY[i], scale, color);
+                    x = glyphs.drawChar(text, '/', x, textY[i], scale, color);
+                    glyphs.drawInt(text, textSecond[i], x, textY[i], scale, color);
+                } else if (textKind[i] == TEXT_STACKS) {
+                    float x = glyphs.drawChar(text, 'x', textX[i], textY[i], scale, color);
+                    glyphs.drawInt(text, textFirst[i], x, textY[i], scale, color);
+                } else {
+                    float x = glyphs.drawInt(text, textFirst[i], textX[i], textY[i], scale, color);
+                    glyphs.drawChar(text, (char)textSecond[i], x, textY[i], scale, color);
+                }
+            }
+            text.flush(glyphs.texture());
+        }
+
+        lastBarCount = barCount;
+        lastSubmitCount = bars.getSubmitCount() + text.getSubmitCount();
+        Draw.reset();
+    }
+
+    public int getLastBarCount() {
+        return lastBarCount;
+    }
+
+    public int getLastSubmitCount() {
+        return lastSubmitCount;
+    }
+
+    private void addText(int kind, int first, int second, float x, float y, float scale, Color color) {
+        if (textCount == textKind.length) growText();
+
+        textKind[textCount] = kind;
+        textFirst[textCount] = first;
+        textSecond[textCount] = second;
+        textX[textCount] = x;
+        textY[textCount] = y;
+        textScale[textCount] = scale;
+        textColor[textCount] = color;
+        textCount++;
+    }
+
+    private void growText() {
+        int capacity = textKind.length * 2;
+        textKind = Arrays.copyOf(textKind, capacity);
+        textFirst = Arrays.copyOf(textFirst, capacity);
+        textSecond = Arrays.copyOf(textSecond, capacity);
+        textX = Arrays.copyOf(textX, capacity);
+        textY = Arrays.copyOf(textY, capacity);
+        textScale = Arrays.copyOf(textScale, capacity);
+        textColor = Arrays.copyOf(textColor, capacity);
+    }
+}
@@ -1,42 +1,82 @@
 package tooltipsplus.ui;
 
+import arc.func.Cons;
 import arc.graphics.Color;
 import arc.graphics.g2d.*;
 import arc.math.Mathf;
-import arc.math.Interp;
 import arc.math.geom.Rect;
+import arc.struct.Bits;
 import arc.struct.Seq;
 import arc.util.Time;
-import arc.util.pooling.Pool;
-import arc.util.pooling.Pools;
 import mindustry.Vars;
 import mindustry.game.Team;
 import mindustry.gen.*;
 import mindustry.graphics.Pal;
 import mindustry.type.StatusEffect;
 import mindustry.ui.Fonts;
+import mindustry.core.World;
+import tooltipsplus.config.Constants;
 import tooltipsplus.config.Settings;
-import java.util.HashMap;
-import java.util.Map;
+import tooltipsplus.data.BossTracker;
+import tooltipsplus.data.DamageEventQueue;
+import tooltipsplus.data.HealthCache;
+import tooltipsplus.util.PrioritySelect;
 
 public class HealthDisplaySystem {
     private Settings settings;
-    private Seq<DamageNumber> damageNumbers = new Seq<>();
-    private Map<Integer, HealthCache> healthCache = new HashMap<>();
+    private final DamageNumberRing damageNumbers = new DamageNumberRing();
+    private final HealthCache healthCache = new HealthCache();
+    private final DamageEventQueue damageEvents = new DamageEventQueue(this::processHit);
+    private final Seq<Healthc> healWatch = new Seq<>(false, 64, Healthc.class);
     
-    private static final Pool<DamageNumber> damagePool = Pools.get(DamageNumber.class, DamageNumber::new);
     private final GlyphLayout layout = new GlyphLayout();
-    private final Seq<StatusEffect> activeEffects = new Seq<>();
+    private final NumberGlyphs glyphs = new NumberGlyphs();
+    private final BossTracker bossTracker = new BossTracker();
+    private final HealthUpdateScheduler scheduler = new HealthUpdateScheduler();
+    private final HealthBarRenderer barRenderer = new HealthBarRenderer(glyphs);
+    private final QuadBatch numberBatch = new QuadBatch(256);
     private final Rect cameraBounds = new Rect();
+    private final Seq<Unit> visibleUnits = new Seq<>(false, 256, Unit.class);
+    private final Seq<Building> visibleBuildings = new Seq<>(false, 256, Building.class);
+    private final Cons<Unit> unitCollector = this::collectUnit;
+    private final HealthUpdateScheduler.Visitor refreshVisitor = this::visitRefreshed;
+    private final Seq<Healthc> drawn = new Seq<>(false, 256, Healthc.class);
+    private float[] priorities = new float[256];
+    private int drawnUnits = 0;
+    private int drawnBuildings = 0;
+    private int scanMinX = -1, scanMinY = -1, scanMaxX = -1, scanMaxY = -1;
+    private int lastBuildingScan = 0;
     
-    private static final int MAX_UNITS_PER_FRAME = 150;
-    private static final int MAX_BUILDINGS_PER_FRAME = 100;
+    private static final int MAX_UNIT_BARS = 150;
+    private static final int MAX_BUILDING_BARS = 100;
+    private static final int MAX_PIPS = 1000;
+    private static final int BUILDING_RESCAN_FRAMES = 30;
+    
+    private static final int LOD_FULL = 0;
+    private static final int LOD_BARS = 1;
+    private static final int LOD_PIPS = 2;
+    private static final int LOD_OFF = 3;
+    private static final float LOD_TEXT_SCALE = 2.5f;
+    private static final float LOD_BAR_SCALE = 1.5f;
+    private static final int LOD_TEXT_COUNT = 400;
+    private static final int LOD_PIP_COUNT = 1500;
+    private static final int LOD_OFF_COUNT = 6000;
+    
+    private static final float UNDAMAGED_PRIORITY_PENALTY = 1e12f;
+    private static final int CACHE_MAX_AGE = 3;
+    private static final int MAX_STATUS_ICONS = 8;
+    private static final int MAX_BOSS_BARS = 3;
+    private static final float BOSS_BAR_SPACING = 56f;
+    private static final float HEAL_WATCH_TICKS = 300f;
     
     private int frameCounter = 0;
-    private Unit currentBoss = null;
+    private int detailLevel = LOD_FULL;
+    private final Unit[] bosses = new Unit[MAX_BOSS_BARS];
 
     public HealthDisplaySystem(Settings settings) {
         this.settings = settings;
+        damageEvents.register();
+        bossTracker.register();
     }
 
     public void draw() {
@@ -44,26 +84,62 @@ public class HealthDisplaySystem {
         
         updateCameraBounds();
         
+        if (settings.showDamageNumbers) {
+            damageEvents.drain();
+            updateHealWatch();
+        } else {
+            damageEvents.clear();
+            healWatch.clear();
+        }
+        
         if (settings.showHealthBars) {
-            drawUnits();
-            drawBuildings();
-        } else if (settings.showDamageNumbers) {
-            trackHealthForDamageNumbers();
+            collectVisible();
+            int visibleCount = visibleUnits.size + visibleBuildings.size;
+            detailLevel = pickDetailLevel(visibleCount);
+            
+            if (detailLevel != LOD_OFF) {
+                selectDrawn();
+                scheduler.run(healthCache, drawn.items, drawn.size, settings.healthUpdateBudget, refreshVisitor);
+                barRenderer.begin();
+                drawUnits();
+                drawBuildings();
+                barRenderer.end();
+            }
         }
 
         if (settings.showDamageNumbers) {
             updateDamageNumbers();
         }
         
-        if (settings.showBossBar && currentBoss != null && currentBoss.isValid()) {
-            drawBossBar();
+        if (settings.showBossBar) {
+            int count = bossTracker.top(bosses, Math.min(settings.bossBarCount, MAX_BOSS_BARS), settings.bossHPThreshold);
+            for (int i = 0; i < count; i++) {
+                drawBossBar(bosses[i], i);
+                bosses[i] = null;
+            }
         }
         
         if (frameCounter % 120 == 0) {
-            cleanupHealthCache();
+            healthCache.sweep(CACHE_MAX_AGE);
         }
     }
     
+    public int getLastBarCount() {
+        return barRenderer.getLastBarCount();
+    }
+    
+    public int getLastSubmitCount() {
+        return barRenderer.getLastSubmitCount();
+    }
+    
+    public int getLastVisibleCount() {
+        return visibleUnits.size + visibleBuildings.size;
+    }
+    
+    public HealthUpdateScheduler getScheduler() {
+        return scheduler;
+    }
+    
     private void updateCameraBounds() {
         float margin = 100f;
         cameraBounds.set(
@@ -74,158 +150,204 @@ public class HealthDisplaySystem {
         );
     }
     
-    private void drawUnits() {
-        int drawn = 0;
-        currentBoss = null;
+    private void collectVisible() {
+        visibleUnits.clear();
+        Groups.unit.intersect(cameraBounds.x, cameraBounds.y, cameraBounds.width, cameraBounds.height, unitCollector);
         
-        for (Unit unit : Groups.unit) {
-            if (drawn >= MAX_UNITS_PER_FRAME) break;
-            
-            if (!unit.isValid() || unit.dead || unit.health <= 0) continue;
-            
-            if (!cameraBounds.contains(unit.x, unit.y)) continue;
-            
-            updateHealthCache(unit);
-            
-            if (settings.showBossBar && unit.maxHealth >= settings.bossHPThreshold) {
-                if (currentBoss == null || unit.maxHealth > currentBoss.maxHealth) {
-                    currentBoss = unit;
-                }
+        int minX = Math.max(World.toTile(cameraBounds.x), 0);
+        int minY = Math.max(World.toTile(cameraBounds.y), 0);
+        int maxX = Math.min(World.toTile(cameraBounds.x + cameraBounds.width), Vars.world.width() - 1);
+        int maxY = Math.min(World.toTile(cameraBounds.y + cameraBounds.height), Vars.world.height() - 1);
+        
+        boolean moved = minX != scanMinX || minY != scanMinY || maxX != scanMaxX || maxY != scanMaxY;
+        if (!moved && frameCounter - lastBuildingScan < BUILDING_RESCAN_FRAMES) return;
+        
+        scanMinX = minX;
+        scanMinY = minY;
+        scanMaxX = maxX;
+        scanMaxY = maxY;
+        lastBuildingScan = frameCounter;
+        visibleBuildings.clear();
+        
+        for (int ty = minY; ty <= maxY; ty++) {
+            for (int tx = minX; tx <= maxX; tx++) {
+                Building build = Vars.world.build(tx, ty);
+                if (build == null || build.tile.x != tx || build.tile.y != ty) continue;
+                if (!build.isValid() || build.dead || build.health <= 0) continue;
+                visibleBuildings.add(build);
             }
+        }
+    }
+    
+    private void collectUnit(Unit unit) {
+        if (!unit.isValid() || unit.dead || unit.health <= 0) return;
+        visibleUnits.add(unit);
+    }
+    
+    float drawPriority(Posc entity) {
+        float dst = Mathf.dst2(entity.x(), entity.y(), arc.Core.camera.position.x, arc.Core.camera.position.y);
+        Healthc health = (Healthc)entity;
+        return health.health() < health.maxHealth() ? dst : dst + UNDAMAGED_PRIORITY_PENALTY;
+    }
+    
+    int pickDetailLevel(int visibleCount) {
+        if (!settings.autoLod) return LOD_FULL;
+        
+        float pixelsPerUnit = arc.Core.graphics.getWidth() / Math.max(arc.Core.camera.width, 1f);
+        int level = pixelsPerUnit >= LOD_TEXT_SCALE ? LOD_FULL : pixelsPerUnit >= LOD_BAR_SCALE ? LOD_BARS : LOD_PIPS;
+        
+        if (visibleCount > LOD_OFF_COUNT) return LOD_OFF;
+        if (visibleCount > LOD_PIP_COUNT) return Math.max(level, LOD_PIPS);
+        if (visibleCount > LOD_TEXT_COUNT) return Math.max(level, LOD_BARS);
+        return level;
+    }
+    
+    private void selectDrawn() {
+        int unitLimit = Math.min(visibleUnits.size, detailLevel == LOD_PIPS ? MAX_PIPS : MAX_UNIT_BARS);
+        int buildingLimit = Math.min(visibleBuildings.size, detailLevel == LOD_PIPS ? MAX_PIPS : MAX_BUILDING_BARS);
+        
+        selectClosest(visibleUnits.items, visibleUnits.size, unitLimit);
+        selectClosest(visibleBuildings.items, visibleBuildings.size, buildingLimit);
+        
+        drawn.clear();
+        drawnUnits = unitLimit;
+        drawnBuildings = buildingLimit;
+        for (int i = 0; i < unitLimit; i++) {
+            drawn.add(visibleUnits.items[i]);
+        }
+        for (int i = 0; i < buildingLimit; i++) {
+            drawn.add(visibleBuildings.items[i]);
+        }
+    }
+    
+    private <T extends Posc> void selectClosest(T[] items, int size, int limit) {
+        if (size <= limit) return;
+        
+        if (priorities.length < size) priorities = new float[Math.max(size, priorities.length * 2)];
+        for (int i = 0; i < size; i++) {
+            priorities[i] = drawPriority(items[i]);
+        }
+        PrioritySelect.smallest(items, priorities, size, limit);
+    }
+    
+    private void drawUnits() {
+        for (int i = 0; i < drawnUnits; i++) {
+            Unit unit = visibleUnits.items[i];
             
             boolean shouldShow = !settings.autoHideFullHP || unit.health < unit.maxHealth;
             if (shouldShow) {
                 drawUnitHealth(unit);
             }
             
-            if (settings.showStatusEffects) {
+            if (settings.showStatusEffects && detailLevel == LOD_FULL) {
                 drawUnitStatus(unit);
             }
-            
-            drawn++;
         }
     }
     
     private void drawBuildings() {
-        int drawn = 0;
-        
-        for (Building build : Groups.build) {
-            if (drawn >= MAX_BUILDINGS_PER_FRAME) break;
-            
-            if (!build.isValid() || build.dead || build.health <= 0) continue;
-            
-            if (!cameraBounds.contains(build.x, build.y)) continue;
-            
-            updateHealthCache(build);
+        for (int i = 0; i < drawnBuildings; i++) {
+            Building build = visibleBuildings.items[i];
+            if (!build.isValid()) continue;
             
             boolean shouldShow = !settings.autoHideFullHP || build.health < build.maxHealth;
             if (shouldShow) {
                 drawBuildingHealth(build);
             }
-            
-            drawn++;
         }
     }
     
-    private void cleanupHealthCache() {
-        healthCache.entrySet().removeIf(entry -> {
-            HealthCache cache = entry.getValue();
-            return Time.time - cache.lastUpdate > 300f;
-        });
-    }
-    
-    private void trackHealthForDamageNumbers() {
-        int tracked = 0;
+    void processHit(Healthc entity, float damageHint, boolean destroyed) {
+        int id = entity.id();
+        float currentHealth = destroyed ? 0f : Math.max(entity.health(), 0f);
+        float previousHealth;
         
-        for (Unit unit : Groups.unit) {
-            if (tracked >= MAX_UNITS_PER_FRAME) break;
-            if (!unit.isValid() || unit.dead || unit.health <= 0) continue;
-            if (!cameraBounds.contains(unit.x, unit.y)) continue;
-            
-            updateHealthCache(unit);
-            tracked++;
+        int slot = healthCache.get(id);
+        if (slot == -1) {
+            previousHealth = Math.min(currentHealth + damageHint, entity.maxHealth());
+            slot = healthCache.add(entity, Time.time);
+        } else {
+            previousHealth = healthCache.health[slot];
+            healthCache.health[slot] = currentHealth;
+            healthCache.touch(slot);
         }
         
-        tracked = 0;
-        for (Building build : Groups.build) {
-            if (tracked >= MAX_BUILDINGS_PER_FRAME) break;
-            if (!build.isValid() || build.dead || build.health <= 0) continue;
-            if (!cameraBounds.contains(build.x, build.y)) continue;
+        if (destroyed) {
+            healthCache.remove(id);
+        } else {
+            if (Time.time - healthCache.lastHit[slot] > HEAL_WATCH_TICKS) {
+                healWatch.add(entity);
+            }
+            healthCache.lastHit[slot] = Time.time;
+        }
+        
+        showHealthChange(entity, currentHealth - previousHealth);
+    }
+    
+    private void updateHealWatch() {
+        for (int i = healWatch.size - 1; i >= 0; i--) {
+            Healthc entity = healWatch.items[i];
+            int slot = healthCache.get(entity.id());
+            
+            if (slot == -1 || !entity.isValid() || Time.time - healthCache.lastHit[slot] > HEAL_WATCH_TICKS) {
+                healWatch.remove(i);
+                continue;
+            }
             
-            updateHealthCache(build);
-            tracked++;
+            reportHealthChange(entity, slot);
+            healthCache.touch(slot);
         }
     }
-
-    void updateHealthCache(Healthc entity) {
-        int id = entity.id();
+    
+    private void visitRefreshed(int slot) {
+        if (settings.showDamageNumbers) {
+            reportHealthChange(healthCache.entity(slot), slot);
+        }
+    }
+    
+    private void reportHealthChange(Healthc entity, int slot) {
         float currentHealth = entity.health();
-        float currentShield = entity instanceof Unit ? ((Unit)entity).shield : 0f;
-
-        HealthCache cache = healthCache.get(id);
-        if (cache == null) {
-            cache = new HealthCache();
-            cache.health = currentHealth;
-            cache.displayHealth = currentHealth;
-            cache.shield = currentShield;
-            cache.displayShield = currentShield;
-            cache.lastUpdate = Time.time;
-            healthCache.put(id, cache);
-            return;
+        float healthDiff = currentHealth - healthCache.health[slot];
+        if (Math.abs(healthDiff) <= 0.5f) return;
+        
+        healthCache.health[slot] = currentHealth;
+        showHealthChange(entity, healthDiff);
+    }
+    
+    private void showHealthChange(Healthc entity, float healthDiff) {
+        if (Math.abs(healthDiff) <= 0.5f) return;
+        
+        boolean shouldShow = settings.showAllDamageNumbers;
+        if (!shouldShow && entity instanceof Teamc) {
+            shouldShow = ((Teamc)entity).team() == Vars.player.team();
         }
         
-        cache.lastUpdate = Time.time;
-
-        float healthDiff = currentHealth - cache.health;
-        if (Math.abs(healthDiff) > 0.5f) {
-            boolean shouldShow = settings.showAllDamageNumbers;
-            if (!shouldShow && entity instanceof Teamc) {
-                shouldShow = ((Teamc)entity).team() == Vars.player.team();
-            }
-
-            if (shouldShow && settings.showDamageNumbers && damageNumbers.size < 80) {
-                float x = 0, y = 0;
-                if (entity instanceof Posc) {
-                    Posc pos = (Posc)entity;
-                    x = pos.x();
-                    y = pos.y();
-                    if (entity instanceof Hitboxc) {
-                        y += ((Hitboxc)entity).hitSize() / 2f + 25f;
-                    }
+        if (shouldShow) {
+            float x = 0, y = 0;
+            if (entity instanceof Posc) {
+                Posc pos = (Posc)entity;
+                x = pos.x();
+                y = pos.y();
+                if (entity instanceof Hitboxc) {
+                    y += ((Hitboxc)entity).hitSize() / 2f + 25f;
                 }
-                spawnDamageNumber(x, y, healthDiff);
             }
-            cache.health = currentHealth;
+            spawnDamageNumber(entity.id(), x, y, healthDiff);
         }
-
-        cache.displayHealth = Mathf.lerp(cache.displayHealth, currentHealth, 0.15f);
-        cache.displayShield = Mathf.lerp(cache.displayShield, currentShield, 0.15f);
     }
 
-    void spawnDamageNumber(float x, float y, float amount) {
-        DamageNumber dn = damagePool.obtain();
-        dn.set(x, y, amount, settings.damageNumberScale);
-        damageNumbers.add(dn);
+    void spawnDamageNumber(int entityId, float x, float y, float amount) {
+        damageNumbers.spawn(entityId, x, y, amount, settings.damageNumberScale);
     }
 
     void updateDamageNumbers() {
-        damageNumbers.each(dn -> {
-            dn.update();
-            dn.draw(layout);
-        });
-        damageNumbers.removeAll(dn -> {
-            if (dn.lifetime <= 0) {
-                damagePool.free(dn);
-                return true;
-            }
-            return false;
-        });
+        boolean glyphsReady = glyphs.load();
+        damageNumbers.updateAndDraw(numberBatch, glyphs, glyphsReady);
+        if (glyphsReady) numberBatch.flush(glyphs.texture());
     }
 
     void drawUnitHealth(Unit unit) {
-        int id = unit.id();
-        HealthCache cache = healthCache.get(id);
-        if (cache == null) return;
+        int slot = healthCache.get(unit.id());
 
         float x = unit.x;
         float y = unit.y + unit.hitSize / 2f + 16f * settings.healthBarScale;
@@ -240,86 +362,68 @@ public class HealthDisplaySystem {
         float width = Math.max(45f, unit.hitSize * 1.2f) * settings.healthBarScale;
 
         Color barColor = getTeamColor(unit.team);
-        drawHealthBar(x, y, cache.displayHealth, unit.maxHealth, cache.displayShield, width, barColor);
+        drawHealthBar(x, y, slot == -1 ? unit.health : healthCache.displayHealth[slot], unit.maxHealth, slot == -1 ? unit.shield : healthCache.displayShield[slot], width, barColor);
     }
 
     void drawUnitStatus(Unit unit) {
-        float x = unit.x;
-        float y = unit.y + unit.hitSize / 2f + 28f * settings.healthBarScale;
+        Bits applied = unit.statusBits();
+        Seq<StatusEffect> effects = Vars.content.statusEffects();
 
-        activeEffects.clear();
-        
-        for (StatusEffect effect : Vars.content.statusEffects()) {
-            if (unit.hasEffect(effect) && effect.uiIcon != null) {
-                activeEffects.add(effect);
-                if (activeEffects.size >= 8) break;
-            }
+        int count = 0;
+        for (int id = applied.nextSetBit(0); id != -1 && count < MAX_STATUS_ICONS; id = applied.nextSetBit(id + 1)) {
+            if (id < effects.size && effects.get(id).uiIcon != null) count++;
         }
 
-        if (activeEffects.isEmpty()) return;
+        if (count == 0) return;
 
+        float x = unit.x;
+        float y = unit.y + unit.hitSize / 2f + 28f * settings.healthBarScale;
         float iconSize = 14f * settings.healthBarScale;
-        float totalWidth = activeEffects.size * (iconSize + 2f);
+        float totalWidth = count * (iconSize + 2f);
         float startX = x - totalWidth / 2f;
 
-        for (int i = 0; i < activeEffects.size; i++) {
-            StatusEffect effect = activeEffects.get(i);
-            float iconX = startX + i * (iconSize + 2f) + iconSize/2f;
+        Draw.color(Color.white, 0.9f);
 
-            Draw.color(Color.white, 0.9f);
+        int drawn = 0;
+        for (int id = applied.nextSetBit(0); id != -1 && drawn < count; id = applied.nextSetBit(id + 1)) {
+            if (id >= effects.size) break;
+            StatusEffect effect = effects.get(id);
+            if (effect.uiIcon == null) continue;
+
+            float iconX = startX + drawn * (iconSize + 2f) + iconSize/2f;
             Draw.rect(effect.uiIcon, iconX, y, iconSize, iconSize);
 
             if (!effect.permanent) {
-                float time = unit.getDuration(effect);
-                String timeStr = formatTime(time);
-
-                Fonts.outline.getData().setScale(0.35f * settings.healthBarScale);
-                Fonts.outline.setColor(Pal.accent);
-                Fonts.outline.draw(timeStr, iconX - 2f, y - iconSize/2f - 1f);
-                Fonts.outline.getData().setScale(1f);
+                barRenderer.durationText(iconX - 2f, y - iconSize/2f - 1f, unit.getDuration(effect), 0.35f * settings.healthBarScale, Pal.accent);
             }
+            drawn++;
         }
 
         Draw.reset();
     }
 
-    String formatTime(float ticks) {
-        float seconds = ticks / 60f;
-        if (seconds > 60) {
-            int minutes = (int)(seconds / 60);
-            if (minutes > 60) return (minutes / 60) + "h";
-            return minutes + "m";
-        }
-        return (int)seconds + "s";
-    }
-
     void drawBuildingHealth(Building build) {
-        int id = build.id();
-        HealthCache cache = healthCache.get(id);
-        if (cache == null) return;
+        int slot = healthCache.get(build.id());
 
         float x = build.x;
         float y = build.y + build.block.size * 4f + 16f * settings.healthBarScale;
         float width = Math.max(45f, build.block.size * 7f) * settings.healthBarScale;
 
         Color barColor = getTeamColor(build.team);
-        drawHealthBar(x, y, cache.displayHealth, build.maxHealth, 0f, width, barColor);
+        drawHealthBar(x, y, slot == -1 ? build.health : healthCache.displayHealth[slot], build.maxHealth, 0f, width, barColor);
     }
     
-    void drawBossBar() {
-        if (currentBoss == null || !currentBoss.isValid()) return;
-        
-        int id = currentBoss.id();
-        HealthCache cache = healthCache.get(id);
-        if (cache == null) return;
+    void drawBossBar(Unit boss, int index) {
+        int slot = healthCache.get(boss.id());
+        float health = slot == -1 ? boss.health : healthCache.displayHealth[slot];
         
         float screenWidth = arc.Core.graphics.getWidth();
         float x = screenWidth / 2f;
-        float y = arc.Core.graphics.getHeight() - 60f;
+        float y = arc.Core.graphics.getHeight() - 60f - index * BOSS_BAR_SPACING;
         float width = 400f;
         float height = 18f;
         
-        float healthPercent = Mathf.clamp(cache.displayHealth / currentBoss.maxHealth);
+        float healthPercent = Mathf.clamp(health / boss.maxHealth);
         
         Draw.color(0, 0, 0, 0.8f);
         Fill.rect(x, y, width + 6f, height + 6f);
@@ -328,7 +432,7 @@ public class HealthDisplaySystem {
         Fill.rect(x, y, width, height);
         
         float fillWidth = width * healthPercent;
-        Color bossColor = Color.valueOf("ff4444");
+        Color bossColor = Constants.BOSS_COLOR;
         
         Draw.color(bossColor.r * 0.5f, bossColor.g * 0.5f, bossColor.b * 0.5f, 0.9f);
         Fill.rect(x - width/2f + fillWidth/2f, y, fillWidth, height);
@@ -340,33 +444,46 @@ public class HealthDisplaySystem {
         Draw.color(Color.white, 0.4f + pulse);
         Fill.rect(x - width/2f + fillWidth/2f, y + height/2f - 2f, fillWidth, 3f);
         
-        String bossName = currentBoss.type != null ? currentBoss.type.localizedName : "BOSS";
+        String bossName = boss.type != null ? boss.type.localizedName : "BOSS";
         Fonts.outline.getData().setScale(0.8f);
         Fonts.outline.setColor(Color.white);
         layout.setText(Fonts.outline, bossName);
         Fonts.outline.draw(bossName, x - layout.width/2f, y + height/2f + 30f);
         
-        String healthText = (int)cache.displayHealth + " / " + (int)currentBoss.maxHealth;
-        Fonts.outline.getData().setScale(0.6f);
-        layout.setText(Fonts.outline, healthText);
-        Fonts.outline.draw(healthText, x - layout.width/2f, y + 4f);
-        
         Fonts.outline.getData().setScale(1f);
+        
+        if (glyphs.load()) {
+            float scale = 0.6f;
+            float gap = glyphs.charWidth('/', scale) * 0.5f;
+            float textWidth = glyphs.intWidth((int)health, scale) + glyphs.charWidth('/', scale) + glyphs.intWidth((int)boss.maxHealth, scale) + gap * 2f;
+            float color = Color.white.toFloatBits();
+            float textX = glyphs.drawInt(numberBatch, (int)health, x - textWidth/2f, y + 4f, scale, color);
+            textX = glyphs.drawChar(numberBatch, '/', textX + gap, y + 4f, scale, color);
+            glyphs.drawInt(numberBatch, (int)boss.maxHealth, textX + gap, y + 4f, scale, color);
+            numberBatch.flush(glyphs.texture());
+        }
+        
         Draw.reset();
     }
 
     Color getTeamColor(Team team) {
         if (team == Vars.player.team()) {
-            return Color.valueOf("84f491");
+            return Constants.TEAM_ALLY;
         } else if (team.id == Vars.player.team().id) {
             return Color.sky;
         } else {
-            return Color.valueOf("ff6b6b");
+            return Constants.TEAM_ENEMY;
         }
     }
 
     void drawHealthBar(float x, float y, float health, float maxHealth, float shield, float width, Color teamColor) {
         float healthPercent = Mathf.clamp(health / maxHealth);
+        
+        if (detailLevel == LOD_PIPS) {
+            barRenderer.pip(x, y, 4f * settings.healthBarScale, getPipColor(healthPercent, teamColor));
+            return;
+        }
+        
         int shieldStacks = shield > 0 ? Mathf.ceil(shield / maxHealth) : 0;
         float shieldPercent = shieldStacks > 0 ? (shield % maxHealth) / maxHealth : 0f;
         if (shieldPercent < 0.01f && shieldStacks > 0) shieldPercent = 1f;
@@ -374,53 +491,28 @@ public class HealthDisplaySystem {
         float barHeight = 7f * settings.healthBarScale;
         float shieldHeight = 5f * settings.healthBarScale;
 
-        drawSmoothBar(x, y, width, barHeight, healthPercent, teamColor);
+        barRenderer.bar(x, y, width, barHeight, healthPercent, teamColor);
 
         if (shieldStacks > 0) {
             float shieldY = y + barHeight/2f + shieldHeight/2f + 1.5f;
             Color shieldColor = getShieldColor(shieldStacks, teamColor);
 
-            drawSmoothBar(x, shieldY, width, shieldHeight, shieldPercent, shieldColor);
+            barRenderer.bar(x, shieldY, width, shieldHeight, shieldPercent, shieldColor);
 
-            if (shieldStacks > 1) {
-                Fonts.outline.getData().setScale(0.5f * settings.healthBarScale);
-                Fonts.outline.setColor(getShieldStackTextColor(shieldStacks));
-                Fonts.outline.draw("x" + shieldStacks, x + width/2f + 3f, shieldY + 1.5f);
-                Fonts.outline.getData().setScale(1f);
+            if (shieldStacks > 1 && detailLevel == LOD_FULL) {
+                barRenderer.stackText(x + width/2f + 3f, shieldY + 1.5f, shieldStacks, 0.5f * settings.healthBarScale, getShieldStackTextColor(shieldStacks));
             }
         }
 
-        String healthText = (int)health + "/" + (int)maxHealth;
-        Fonts.outline.getData().setScale(0.48f * settings.healthBarScale);
-        Fonts.outline.setColor(Color.white);
-
-        layout.setText(Fonts.outline, healthText);
-        Fonts.outline.draw(healthText, x - layout.width/2f, y + 2.5f);
-        Fonts.outline.getData().setScale(1f);
-
-        Draw.reset();
+        if (detailLevel == LOD_FULL) {
+            barRenderer.healthText(x, y + 2.5f, health, maxHealth, 0.48f * settings.healthBarScale);
+        }
     }
-
-    void drawSmoothBar(float x, float y, float width, float height, float percent, Color baseColor) {
-        Draw.color(0, 0, 0, 0.75f);
-        Fill.rect(x, y, width + 3f, height + 3f);
-
-        Draw.color(0.2f, 0.2f, 0.2f, 0.6f);
-        Fill.rect(x, y, width, height);
-
-        float fillWidth = width * percent;
-
-        Draw.color(baseColor.r * 0.6f, baseColor.g * 0.6f, baseColor.b * 0.6f, 0.8f);
-        Fill.rect(x - width/2f + fillWidth/2f, y, fillWidth, height);
-
-        Draw.color(baseColor, 0.9f);
-        Fill.rect(x - width/2f + fillWidth/2f, y, fillWidth, height * 0.7f);
-
-        float pulse = Mathf.absin(Time.time / 60f * 5f, 0.15f);
-        Draw.color(Color.white, 0.25f + pulse);
-        Fill.rect(x - width/2f + fillWidth/2f, y + height/2f - 1f, fillWidth, 1.5f);
-
-        Draw.reset();
+    
+    Color getPipColor(float healthPercent, Color teamColor) {
+        if (healthPercent > 0.6f) return teamColor;
+        if (healthPercent > 0.3f) return Pal.accent;
+        return Color.scarlet;
     }
 
     Color getShieldColor(int stacks, Color teamColor) {
@@ -440,60 +532,4 @@ public class HealthDisplaySystem {
         if (stacks >= 10) return Color.white;
         return Color.lightGray;
     }
-
-    static class HealthCache {
-        float health, displayHealth;
-        float shield, displayShield;
-        float lastUpdate;
-    }
-
-    static class DamageNumber implements Pool.Poolable {
-        float x, y, amount;
-        float lifetime = 60f;
-        float scale = 1f;
-        float startScale = 0f;
-
-        void set(float x, float y, float amount, float sizeScale) {
-            this.x = x + Mathf.range(6f);
-            this.y = y;
-            this.amount = amount;
-            this.lifetime = 60f;
-            this.scale = sizeScale;
-            this.startScale = 0f;
-        }
-
-        void update() {
-            lifetime -= Time.delta;
-            startScale = Mathf.lerp(startScale, 1f, 0.2f);
-            y += Time.delta * 0.5f;
-        }
-
-        void draw(GlyphLayout layout) {
-            float alpha = Mathf.clamp(lifetime / 60f);
-            float pop = Interp.elasticOut.apply(Mathf.clamp(startScale));
-            float finalScale = (0.8f + pop * 0.4f) * scale;
-
-            boolean isDamage = amount < 0;
-            Color color = isDamage ? Color.valueOf("ff5555") : Color.valueOf("55ff55");
-            String prefix = isDamage ? "-" : "+";
-            String text = prefix + (int)Math.abs(amount);
-
-            Fonts.outline.getData().setScale(finalScale);
-            Fonts.outline.setColor(color.r, color.g, color.b, alpha);
-
-            layout.setText(Fonts.outline, text);
-            Fonts.outline.draw(text, x - layout.width/2f, y);
-
-            Fonts.outline.getData().setScale(1f);
-            Draw.reset();
-        }
-
-        @Override
-        public void reset() {
-            x = y = amount = 0;
-            lifetime = 60f;
-            scale = 1f;
-            startScale = 0f;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package tooltipsplus.ui;
+
+import arc.util.Time;
+import mindustry.gen.Healthc;
+import tooltipsplus.data.HealthCache;
+
+public class HealthUpdateScheduler {
+    private static final int BUDGET_CHECK_INTERVAL = 16;
+    private static final int MAX_STALE_FRAMES = 8;
+
+    private int cursor = 0;
+    private int lastRefreshed = 0;
+    private long lastNanos = 0L;
+
+    public void run(HealthCache cache, Healthc[] entities, int count, float budgetMicros, Visitor visitor) {
+        lastRefreshed = 0;
+        if (count == 0) return;
+
+        int minimum = (count + MAX_STALE_FRAMES - 1) / MAX_STALE_FRAMES;
+        long budgetNanos = (long)(budgetMicros * 1000f);
+        long start = Time.nanos();
+        int refreshed = 0;
+
+        while (refreshed < count) {
+            if (cursor >= count) cursor = 0;
+            Healthc entity = entities[cursor++];
+
+            int slot = cache.get(entity.id());
+            if (slot == -1) {
+                slot = cache.add(entity, Time.time);
+            } else {
+                cache.refresh(slot, Time.time);
+                cache.touch(slot);
+            }
+            visitor.visit(slot);
+            refreshed++;
+
+            if (refreshed >= minimum && refreshed % BUDGET_CHECK_INTERVAL == 0 && Time.timeSinceNanos(start) > budgetNanos) break;
+        }
+
+        lastRefreshed = refreshed;
+        lastNanos = Time.timeSinceNanos(start);
+    }
+
+    public int getLastRefreshed() {
+        return lastRefreshed;
+    }
+
+    public long getLastNanos() {
+        return lastNanos;
+    }
+
+    public interface Visitor {
+        void visit(int slot);
+    }
+}
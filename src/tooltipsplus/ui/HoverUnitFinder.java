@@ -0,0 +1,100 @@
+package tooltipsplus.ui;
+
+import arc.Core;
+import arc.func.Cons;
+import arc.util.Time;
+import mindustry.gen.Groups;
+import mindustry.gen.Unit;
+
+public class HoverUnitFinder {
+    private static final int REQUERY_FRAMES = 6;
+    private static final float QUERY_SIZE = 1f;
+
+    private final Cons<Unit> candidate = this::consider;
+
+    private Unit hovered;
+    private Unit best;
+    private float bestDst;
+    private float queryX, queryY;
+
+    private float lastX = Float.NaN, lastY = Float.NaN;
+    private float lastCamX, lastCamY, lastCamWidth;
+    private int framesSinceQuery = 0;
+
+    private long lastNanos = 0L;
+    private int lastCandidates = 0;
+    private int candidates = 0;
+    private int queryCount = 0;
+    private int skipCount = 0;
+
+    public Unit find(float x, float y) {
+        framesSinceQuery++;
+
+        boolean moved = x != lastX || y != lastY
+            || Core.camera.position.x != lastCamX || Core.camera.position.y != lastCamY
+            || Core.camera.width != lastCamWidth;
+        boolean stale = framesSinceQuery >= REQUERY_FRAMES || (hovered != null && !hovered.isValid());
+
+        if (!moved && !stale) {
+            skipCount++;
+            return hovered;
+        }
+
+        lastX = x;
+        lastY = y;
+        lastCamX = Core.camera.position.x;
+        lastCamY = Core.camera.position.y;
+        lastCamWidth = Core.camera.width;
+        framesSinceQuery = 0;
+
+        long start = Time.nanos();
+        queryX = x;
+        queryY = y;
+        best = null;
+        bestDst = Float.MAX_VALUE;
+        candidates = 0;
+
+        Groups.unit.intersect(x - QUERY_SIZE / 2f, y - QUERY_SIZE / 2f, QUERY_SIZE, QUERY_SIZE, candidate);
+
+        hovered = best;
+        best = null;
+        lastCandidates = candidates;
+        lastNanos = Time.timeSinceNanos(start);
+        queryCount++;
+        return hovered;
+    }
+
+    public void reset() {
+        hovered = null;
+        lastX = Float.NaN;
+        lastY = Float.NaN;
+    }
+
+    public long getLastNanos() {
+        return lastNanos;
+    }
+
+    public int getLastCandidates() {
+        return lastCandidates;
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public int getSkipCount() {
+        return skipCount;
+    }
+
+    private void consider(Unit unit) {
+        candidates++;
+        if (!unit.isValid()) return;
+
+        float radius = unit.hitSize / 2f;
+        float dst = unit.dst2(queryX, queryY);
+        if (dst <= radius * radius && dst < bestDst) {
+            best = unit;
+            bestDst = dst;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package tooltipsplus.ui;
+
+import arc.graphics.Texture;
+import arc.graphics.g2d.Font;
+import mindustry.ui.Fonts;
+
+public class NumberGlyphs {
+    private static final String CHARS = "0123456789/+-xsmh";
+
+    private final float[] u = new float[CHARS.length()];
+    private final float[] v = new float[CHARS.length()];
+    private final float[] u2 = new float[CHARS.length()];
+    private final float[] v2 = new float[CHARS.length()];
+    private final float[] offsetX = new float[CHARS.length()];
+    private final float[] offsetY = new float[CHARS.length()];
+    private final float[] width = new float[CHARS.length()];
+    private final float[] height = new float[CHARS.length()];
+    private final float[] advance = new float[CHARS.length()];
+    private final boolean[] present = new boolean[CHARS.length()];
+    private final int[] digits = new int[10];
+
+    private Texture texture;
+    private float ascent;
+    private boolean loaded = false;
+
+    public boolean load() {
+        if (loaded) return true;
+        if (Fonts.outline == null) return false;
+
+        Font font = Fonts.outline;
+        Font.FontData data = font.getData();
+        ascent = data.ascent / data.scaleY;
+
+        Font.Glyph zero = data.getGlyph('0');
+        if (zero == null) return false;
+        texture = font.getRegion(zero.page).texture;
+
+        for (int i = 0; i < CHARS.length(); i++) {
+            Font.Glyph glyph = data.getGlyph(CHARS.charAt(i));
+            if (glyph == null || font.getRegion(glyph.page).texture != texture) continue;
+
+            u[i] = glyph.u;
+            v[i] = glyph.v;
+            u2[i] = glyph.u2;
+            v2[i] = glyph.v2;
+            offsetX[i] = glyph.xoffset;
+            offsetY[i] = glyph.yoffset;
+            width[i] = glyph.width;
+            height[i] = glyph.height;
+            advance[i] = glyph.xadvance;
+            present[i] = true;
+        }
+
+        loaded = true;
+        return true;
+    }
+
+    public Texture texture() {
+        return texture;
+    }
+
+    public float charWidth(char c, float scale) {
+        int index = CHARS.indexOf(c);
+        return index == -1 ? 0f : advance[index] * scale;
+    }
+
+    public float intWidth(int value, float scale) {
+        if (value < 0) value = -value;
+        float total = 0f;
+        do {
+            total += advance[value % 10];
+            value /= 10;
+        } while (value > 0);
+        return total * scale;
+    }
+
+    public float drawChar(QuadBatch batch, char c, float x, float y, float scale, float color) {
+        int index = CHARS.indexOf(c);
+        if (index == -1) return x;
+        return drawGlyph(batch, index, x, y, scale, color);
+    }
+
+    public float drawInt(QuadBatch batch, int value, float x, float y, float scale, float color) {
+        if (value < 0) value = -value;
+
+        int count = 0;
+        do {
+            digits[count++] = value % 10;
+            value /= 10;
+        } while (value > 0);
+
+        for (int i = count - 1; i >= 0; i--) {
+            x = drawGlyph(batch, digits[i], x, y, scale, color);
+        }
+        return x;
+    }
+
+    private float drawGlyph(QuadBatch batch, int index, float x, float y, float scale, float color) {
+        if (present[index]) {
+            float gx = x + offsetX[index] * scale;
+            float gy = y + (ascent + offsetY[index]) * scale;
+            float gw = width[index] * scale;
+            float gh = height[index] * scale;
+            batch.quad(gx, gy, gx, gy + gh, gx + gw, gy + gh, gx + gw, gy,
+                u[index], v[index], u2[index], v2[index], color);
+        }
+        return x + advance[index] * scale;
+    }
+}
@@ -0,0 +1,136 @@
+package tooltipsplus.ui;
+
+import arc.Core;
+import arc.scene.ui.layout.Table;
+import arc.struct.Seq;
+import arc.util.Time;
+import mindustry.Vars;
+import mindustry.gen.*;
+import mindustry.ui.Styles;
+
+public class PinnedPanels {
+    private static final float DOCK_X = 10f;
+    private static final float DOCK_TOP = 120f;
+
+    private final TooltipRenderer renderer;
+    private final Table dock = new Table();
+    private final Seq<Panel> panels = new Seq<>();
+    private boolean structureChanged = false;
+    private int lastSampled = 0;
+
+    public PinnedPanels(TooltipRenderer renderer) {
+        this.renderer = renderer;
+        dock.visible = false;
+        Vars.ui.hudGroup.addChild(dock);
+    }
+
+    public boolean toggle(Posc target) {
+        for (int i = 0; i < panels.size; i++) {
+            if (panels.get(i).target == target) {
+                panels.remove(i);
+                structureChanged = true;
+                return false;
+            }
+        }
+
+        panels.add(new Panel(target));
+        structureChanged = true;
+        return true;
+    }
+
+    public boolean isPinned(Posc target) {
+        for (int i = 0; i < panels.size; i++) {
+            if (panels.get(i).target == target) return true;
+        }
+        return false;
+    }
+
+    public void clear() {
+        panels.clear();
+        structureChanged = true;
+    }
+
+    public int size() {
+        return panels.size;
+    }
+
+    public int getLastSampled() {
+        return lastSampled;
+    }
+
+    public void update(float refreshRate) {
+        for (int i = panels.size - 1; i >= 0; i--) {
+            if (!panels.get(i).target.isAdded()) {
+                panels.remove(i);
+                structureChanged = true;
+            }
+        }
+
+        if (structureChanged) {
+            renderer.reserveTracked(panels.size);
+            dock.clearChildren();
+            for (int i = 0; i < panels.size; i++) {
+                dock.add(panels.get(i).table).left().padBottom(4f).row();
+            }
+        }
+
+        dock.visible = panels.size > 0;
+        lastSampled = 0;
+        if (!dock.visible) {
+            structureChanged = false;
+            return;
+        }
+
+        float interval = 60f / Math.max(refreshRate, 1f);
+        boolean resized = structureChanged;
+
+        if (structureChanged) {
+            for (int i = 0; i < panels.size; i++) {
+                Panel panel = panels.get(i);
+                if (panel.sampled) panel.nextSample = Time.time + interval * i / panels.size;
+            }
+        }
+
+        for (int i = 0; i < panels.size; i++) {
+            Panel panel = panels.get(i);
+            if (panel.sampled && Time.time < panel.nextSample) continue;
+
+            if (!panel.sampled) {
+                panel.sampled = true;
+                panel.nextSample = Time.time + interval * i / panels.size;
+            }
+            panel.nextSample += interval;
+            if (panel.nextSample < Time.time) panel.nextSample = Time.time + interval;
+            panel.rows.begin();
+            if (panel.target instanceof Building) {
+                renderer.writeBuilding(panel.rows, (Building)panel.target);
+            } else {
+                renderer.writeUnit(panel.rows, (Unit)panel.target);
+            }
+            resized |= panel.rows.end();
+            lastSampled++;
+        }
+
+        if (resized) dock.pack();
+        dock.setPosition(DOCK_X, Core.graphics.getHeight() - DOCK_TOP - dock.getHeight());
+        structureChanged = false;
+    }
+
+    public void hide() {
+        dock.visible = false;
+    }
+
+    static class Panel {
+        final Posc target;
+        final Table table = new Table(Styles.black);
+        final TooltipRows rows = new TooltipRows(table);
+        float nextSample;
+        boolean sampled;
+
+        Panel(Posc target) {
+            this.target = target;
+            table.background(Tex.buttonEdge3);
+            table.margin(6f);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package tooltipsplus.ui;
+
+import arc.graphics.Color;
+import arc.graphics.Texture;
+import arc.graphics.g2d.Draw;
+import arc.graphics.g2d.TextureRegion;
+import java.util.Arrays;
+
+public class QuadBatch {
+    private static final int VERTEX_SIZE = 6;
+    private static final int QUAD_SIZE = VERTEX_SIZE * 4;
+    private static final float MIX_COLOR = Color.clear.toFloatBits();
+
+    private float[] vertices;
+    private int index = 0;
+    private int quads = 0;
+    private int submits = 0;
+
+    public QuadBatch(int initialQuads) {
+        vertices = new float[initialQuads * QUAD_SIZE];
+    }
+
+    public void rect(TextureRegion region, float x, float y, float width, float height, float color) {
+        float left = x - width / 2f, bottom = y - height / 2f;
+        quad(left, bottom, left, bottom + height, left + width, bottom + height, left + width, bottom,
+            region.u, region.v2, region.u2, region.v, color);
+    }
+
+    public void region(TextureRegion region, float x, float y, float width, float height, float color) {
+        quad(x, y, x, y + height, x + width, y + height, x + width, y,
+            region.u, region.v2, region.u2, region.v, color);
+    }
+
+    public void quad(float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4,
+                     float u, float v, float u2, float v2, float color) {
+        if (index + QUAD_SIZE > vertices.length) {
+            vertices = Arrays.copyOf(vertices, vertices.length * 2);
+        }
+
+        float[] verts = vertices;
+        int i = index;
+
+        verts[i] = x1;
+        verts[i + 1] = y1;
+        verts[i + 2] = color;
+        verts[i + 3] = u;
+        verts[i + 4] = v;
+        verts[i + 5] = MIX_COLOR;
+
+        verts[i + 6] = x2;
+        verts[i + 7] = y2;
+        verts[i + 8] = color;
+        verts[i + 9] = u;
+        verts[i + 10] = v2;
+        verts[i + 11] = MIX_COLOR;
+
+        verts[i + 12] = x3;
+        verts[i + 13] = y3;
+        verts[i + 14] = color;
+        verts[i + 15] = u2;
+        verts[i + 16] = v2;
+        verts[i + 17] = MIX_COLOR;
+
+        verts[i + 18] = x4;
+        verts[i + 19] = y4;
+        verts[i + 20] = color;
+        verts[i + 21] = u2;
+        verts[i + 22] = v;
+        verts[i + 23] = MIX_COLOR;
+
+        index += QUAD_SIZE;
+        quads++;
+    }
+
+    public void flush(Texture texture) {
+        if (index == 0) return;
+
+        Draw.vert(texture, vertices, 0, index);
+        index = 0;
+        submits++;
+    }
+
+    public void resetStats() {
+        quads = 0;
+        submits = 0;
+    }
+
+    public int getQuadCount() {
+        return quads;
+    }
+
+    public int getSubmitCount() {
+        return submits;
+    }
+}
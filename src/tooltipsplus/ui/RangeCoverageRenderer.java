@@ -0,0 +1,152 @@
+package tooltipsplus.ui;
+
+import arc.Core;
+import arc.graphics.*;
+import arc.graphics.g2d.*;
+import arc.graphics.gl.FrameBuffer;
+import arc.graphics.gl.Shader;
+import arc.util.Log;
+
+public class RangeCoverageRenderer {
+    public static final int ATTACK = 0;
+    public static final int OVERDRIVE = 1;
+    public static final int REPAIR = 2;
+    public static final int FACTORY = 3;
+
+    private static final Blending CHANNEL_ADD = new Blending(Gl.one, Gl.one);
+
+    private static final String VERTEX =
+        "attribute vec4 a_position;\n" +
+        "attribute vec2 a_texCoord0;\n" +
+        "varying vec2 v_texCoords;\n" +
+        "void main(){\n" +
+        "    v_texCoords = a_texCoord0;\n" +
+        "    gl_Position = a_position;\n" +
+        "}\n";
+
+    private static final String FRAGMENT =
+        "uniform sampler2D u_texture;\n" +
+        "uniform vec2 u_texelSize;\n" +
+        "uniform vec4 u_attack;\n" +
+        "uniform vec4 u_overdrive;\n" +
+        "uniform vec4 u_repair;\n" +
+        "uniform vec4 u_factory;\n" +
+        "uniform vec4 u_alpha;\n" +
+        "varying vec2 v_texCoords;\n" +
+        "vec4 covered(vec2 offset){\n" +
+        "    return step(0.5, texture2D(u_texture, v_texCoords + offset * u_texelSize));\n" +
+        "}\n" +
+        "vec4 layer(vec4 dst, vec3 color, float alpha){\n" +
+        "    return vec4(dst.rgb * (1.0 - alpha) + color * alpha, dst.a + alpha * (1.0 - dst.a));\n" +
+        "}\n" +
+        "void main(){\n" +
+        "    vec4 c = covered(vec2(0.0));\n" +
+        "    vec4 n = min(min(covered(vec2(1.0, 0.0)), covered(vec2(-1.0, 0.0))), min(covered(vec2(0.0, 1.0)), covered(vec2(0.0, -1.0))));\n" +
+        "    n = min(n, min(min(covered(vec2(2.0, 0.0)), covered(vec2(-2.0, 0.0))), min(covered(vec2(0.0, 2.0)), covered(vec2(0.0, -2.0)))));\n" +
+        "    vec4 edge = c * (1.0 - n);\n" +
+        "    vec4 fill = c - edge;\n" +
+        "    vec4 result = vec4(0.0);\n" +
+        "    result = layer(result, u_factory.rgb, fill.a * u_alpha.z + edge.a * u_alpha.w);\n" +
+        "    result = layer(result, u_repair.rgb, fill.b * u_alpha.z + edge.b * u_alpha.w);\n" +
+        "    result = layer(result, u_overdrive.rgb, fill.g * u_alpha.z + edge.g * u_alpha.w);\n" +
+        "    result = layer(result, u_attack.rgb, fill.r * u_alpha.x + edge.r * u_alpha.y);\n" +
+        "    if(result.a <= 0.001) discard;\n" +
+        "    gl_FragColor = vec4(result.rgb / result.a, result.a);\n" +
+        "}\n";
+
+    private FrameBuffer buffer;
+    private CoverageShader shader;
+    private boolean supported = true;
+    private boolean drawing = false;
+    private int circleCount = 0;
+    private int lastCircleCount = 0;
+
+    public boolean begin() {
+        if (!supported) return false;
+
+        if (shader == null) {
+            try {
+                shader = new CoverageShader();
+                buffer = new FrameBuffer();
+            } catch (Throwable e) {
+                Log.err("TooltipsPlus: range coverage shader unavailable, using per-circle ranges", e);
+                supported = false;
+                return false;
+            }
+        }
+
+        buffer.resize(Core.graphics.getWidth(), Core.graphics.getHeight());
+        Draw.flush();
+        buffer.begin(Color.clear);
+        Draw.blend(CHANNEL_ADD);
+        drawing = true;
+        circleCount = 0;
+        return true;
+    }
+
+    public void circle(float x, float y, float radius, int channel) {
+        if (!drawing) return;
+
+        if (channel == ATTACK) {
+            Draw.color(1f, 0f, 0f, 0f);
+        } else if (channel == OVERDRIVE) {
+            Draw.color(0f, 1f, 0f, 0f);
+        } else if (channel == REPAIR) {
+            Draw.color(0f, 0f, 1f, 0f);
+        } else {
+            Draw.color(0f, 0f, 0f, 1f);
+        }
+        Fill.circle(x, y, radius);
+        circleCount++;
+    }
+
+    public void end(Color attack, Color overdrive, Color repair, Color factory, float attackFill, float attackEdge, float effectFill, float effectEdge) {
+        if (!drawing) return;
+
+        Draw.flush();
+        Draw.blend();
+        buffer.end();
+        drawing = false;
+        lastCircleCount = circleCount;
+
+        if (circleCount == 0) return;
+
+        shader.attack = attack;
+        shader.overdrive = overdrive;
+        shader.repair = repair;
+        shader.factory = factory;
+        shader.attackFill = attackFill;
+        shader.attackEdge = attackEdge;
+        shader.effectFill = effectFill;
+        shader.effectEdge = effectEdge;
+        buffer.blit(shader);
+        Draw.reset();
+    }
+
+    public boolean isSupported() {
+        return supported;
+    }
+
+    public int getLastCircleCount() {
+        return lastCircleCount;
+    }
+
+    static class CoverageShader extends Shader {
+        Color attack = Color.white, overdrive = Color.white, repair = Color.white, factory = Color.white;
+        float attackFill, attackEdge, effectFill, effectEdge;
+
+        CoverageShader() {
+            super(VERTEX, FRAGMENT);
+        }
+
+        @Override
+        public void apply() {
+            setUniformf("u_texelSize", 1f / Core.graphics.getWidth(), 1f / Core.graphics.getHeight());
+            setUniformf("u_attack", attack);
+            setUniformf("u_overdrive", overdrive);
+            setUniformf("u_repair", repair);
+            setUniformf("u_factory", factory);
+            setUniformf("u_alpha", attackFill, attackEdge, effectFill, effectEdge);
+        }
+    }
+}
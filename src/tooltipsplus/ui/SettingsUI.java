@@ -49,6 +49,11 @@ public class SettingsUI {
             settings.save();
         }).colspan(2).left().row();
         
+        t.check("Auto Detail Level", settings.autoLod, v -> {
+            settings.autoLod = v;
+            settings.save();
+        }).colspan(2).left().row();
+        
         t.check("Shield Stacks", settings.showShieldStacks, v -> {
             settings.showShieldStacks = v;
             settings.save();
@@ -114,6 +119,14 @@ public class SettingsUI {
         
         t.add("[lightgray](" + (int)(settings.healthBarScale * 100) + "%)").colspan(2).left().padTop(-4f).row();
         
+        t.add("Health Update Budget: ").left();
+        t.slider(100, 2000, 100, settings.healthUpdateBudget, v -> {
+            settings.healthUpdateBudget = v;
+            settings.save();
+        }).width(200f).row();
+        
+        t.add("[lightgray](" + (int)settings.healthUpdateBudget + "µs per frame)").colspan(2).left().padTop(-4f).row();
+        
         t.add("Damage Number Size: ").left();
         t.slider(30, 150, 10, (int)(settings.damageNumberScale * 100), v -> {
             settings.damageNumberScale = v / 100f;
@@ -122,6 +135,12 @@ public class SettingsUI {
         
         t.add("[lightgray](" + (int)(settings.damageNumberScale * 100) + "%)").colspan(2).left().padTop(-4f).row();
         
+        t.add("Boss Bars: ").left();
+        t.slider(1, 3, 1, settings.bossBarCount, v -> {
+            settings.bossBarCount = (int)v;
+            settings.save();
+        }).width(200f).row();
+        
         t.add("Range Opacity: ").left();
         t.slider(0, 100, 5, (int)(settings.rangeOpacity * 100), v -> {
             settings.rangeOpacity = v / 100f;
@@ -196,6 +215,14 @@ public class SettingsUI {
         
         t.add("[lightgray](" + Strings.autoFixed(settings.hoverDelay, 2) + "s)").colspan(2).left().padTop(-4f).row();
         
+        t.add("Tooltip Refresh: ").left();
+        t.slider(1, 30, 1, settings.tooltipRefreshRate, v -> {
+            settings.tooltipRefreshRate = (int)v;
+            settings.save();
+        }).width(200f).row();
+        
+        t.add("[lightgray](" + settings.tooltipRefreshRate + " Hz)").colspan(2).left().padTop(-4f).row();
+        
         t.add("Font Size: ").left();
         t.slider(0, 2, 1, settings.fontSize, v -> {
             settings.fontSize = (int)v;
@@ -263,6 +290,11 @@ public class SettingsUI {
             settings.showTeamStats = v;
             settings.save();
         }).colspan(2).left().row();
+        
+        t.check("Log Render Stats", settings.debugStats, v -> {
+            settings.debugStats = v;
+            settings.save();
+        }).colspan(2).left().row();
     }
     
     void addPresetsAndInfo(Table t) {
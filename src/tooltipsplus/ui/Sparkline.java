@@ -0,0 +1,54 @@
+package tooltipsplus.ui;
+
+import arc.graphics.Color;
+import arc.graphics.g2d.*;
+import arc.scene.Element;
+import tooltipsplus.data.BuildingHistory;
+
+public class Sparkline extends Element {
+    private BuildingHistory history;
+    private int slot = -1;
+    private int channel;
+    private boolean normalized;
+    private final Color lineColor = new Color();
+
+    public void set(BuildingHistory history, int slot, int channel, boolean normalized, Color color) {
+        this.history = history;
+        this.slot = slot;
+        this.channel = channel;
+        this.normalized = normalized;
+        lineColor.set(color);
+    }
+
+    @Override
+    public void draw() {
+        Draw.color(0f, 0f, 0f, 0.4f * parentAlpha);
+        Fill.crect(x, y, width, height);
+
+        if (history == null || slot < 0) return;
+
+        int count = history.count(slot);
+        if (count < 2) return;
+
+        float scale = normalized ? 1f : history.max(slot, channel);
+        if (scale <= 0f) scale = 1f;
+
+        float step = width / (BuildingHistory.SAMPLES - 1);
+        float startX = x + width - step * (count - 1);
+
+        Draw.color(lineColor, lineColor.a * parentAlpha);
+        Lines.stroke(1.5f);
+
+        float lastX = startX;
+        float lastY = y + Math.min(history.get(slot, channel, 0) / scale, 1f) * height;
+        for (int i = 1; i < count; i++) {
+            float nextX = startX + step * i;
+            float nextY = y + Math.min(history.get(slot, channel, i) / scale, 1f) * height;
+            Lines.line(lastX, lastY, nextX, nextY);
+            lastX = nextX;
+            lastY = nextY;
+        }
+
+        Draw.reset();
+    }
+}
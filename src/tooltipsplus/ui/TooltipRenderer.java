@@ -9,8 +9,6 @@ import mindustry.*;
 import mindustry.gen.*;
 import mindustry.ui.*;
 import mindustry.world.*;
-import mindustry.content.Blocks;
-import mindustry.type.Item;
 import tooltipsplus.config.Settings;
 import tooltipsplus.data.*;
 import tooltipsplus.util.*;
@@ -21,28 +19,36 @@ public class TooltipRenderer {
     private BuildingData buildingData;
     private UnitData unitData;
     
+    private static final String SEPARATOR = FormatUtil.repeat("─", 20);
+    
     private Table tooltipTable;
+    private TooltipRows rows;
+    private final HoverUnitFinder hoverFinder = new HoverUnitFinder();
     private Building lastHoveredBuilding;
     private Unit lastHoveredUnit;
     private Tile lastHoveredTile;
     private float hoverTimer = 0f;
-    private Building pinnedBuilding = null;
-    private boolean isPinned = false;
+    private PinnedPanels pinnedPanels;
+    private Object sampledTarget;
+    private float nextSample = 0f;
     
-    private float[] productionHistory = new float[60];
-    private int historyIndex = 0;
-    private Interval updateInterval = new Interval(2);
+    private final BuildingHistory history = new BuildingHistory();
+    private final ResourceInfoCache resourceInfo;
     
-    public TooltipRenderer(Settings settings, ColorUtil colors) {
+    public TooltipRenderer(Settings settings, ColorUtil colors, BlockStatsTable blockStats, UnitStatsTable unitStats) {
         this.settings = settings;
         this.colors = colors;
-        this.buildingData = new BuildingData(settings, colors);
-        this.unitData = new UnitData(settings, colors);
+        this.buildingData = new BuildingData(settings, colors, blockStats);
+        this.unitData = new UnitData(settings, colors, unitStats);
+        this.resourceInfo = new ResourceInfoCache(colors);
         
         tooltipTable = new Table(Styles.black);
         tooltipTable.background(Tex.buttonEdge3);
         tooltipTable.margin(6f);
         tooltipTable.visible = false;
+        rows = new TooltipRows(tooltipTable);
+        history.register();
+        pinnedPanels = new PinnedPanels(this);
         Vars.ui.hudGroup.addChild(tooltipTable);
         tooltipTable.toFront();
     }
@@ -52,25 +58,19 @@ public class TooltipRenderer {
         if (!settings.enabled || Vars.state.isMenu()) {
             tooltipTable.visible = false;
             hoverTimer = 0f;
+            sampledTarget = null;
+            hoverFinder.reset();
+            pinnedPanels.hide();
             return;
         }
         
-        if (updateInterval.get(0, 60f)) {
-            updateProductionTracking();
-        }
+        pinnedPanels.update(settings.tooltipRefreshRate);
         
         Vec2 mousePos = arc.Core.input.mouseWorld();
         Tile hoverTile = Vars.world.tileWorld(mousePos.x, mousePos.y);
         Building hoveredBuilding = (hoverTile != null) ? hoverTile.build : null;
         
-        Unit hoveredUnit = Groups.unit.find(u -> {
-            return u.within(mousePos.x, mousePos.y, u.hitSize / 2f);
-        });
-        
-        if (isPinned && pinnedBuilding != null) {
-            showBuildingTooltip(pinnedBuilding);
-            return;
-        }
+        Unit hoveredUnit = hoverFinder.find(mousePos.x, mousePos.y);
         
         if (hoveredBuilding != lastHoveredBuilding || hoveredUnit != lastHoveredUnit || hoverTile != lastHoveredTile) {
             hoverTimer = 0f;
@@ -99,231 +99,166 @@ public class TooltipRenderer {
         
         if (hoverTimer >= settings.hoverDelay) {
             if (hoveredBuilding != null) {
-                showBuildingTooltip(hoveredBuilding);
+                if (sampleDue(hoveredBuilding)) showBuildingTooltip(hoveredBuilding);
+                else holdTooltip();
                 return;
             } else if (hoveredUnit != null) {
-                showUnitTooltip(hoveredUnit);
+                if (sampleDue(hoveredUnit)) showUnitTooltip(hoveredUnit);
+                else holdTooltip();
                 return;
             } else if (hoverTile != null && isOreOrResource(hoverTile)) {
-                showOreTooltip(hoverTile);
+                if (sampleDue(hoverTile)) showOreTooltip(hoverTile);
+                else holdTooltip();
                 return;
             }
         }
         
         tooltipTable.visible = false;
+        sampledTarget = null;
     }
     
-    boolean isOreOrResource(Tile tile) {
-        if (tile == null) return false;
-        if (tile.overlay() != Blocks.air && tile.overlay().itemDrop != null) return true;
-        if (tile.floor() != Blocks.air && tile.floor().liquidDrop != null) return true;
-        if (tile.block() != Blocks.air) return true;
+    boolean sampleDue(Object target) {
+        if (target != sampledTarget || Time.time >= nextSample) {
+            sampledTarget = target;
+            nextSample = Time.time + 60f / Math.max(settings.tooltipRefreshRate, 1);
+            return true;
+        }
         return false;
     }
     
+    void holdTooltip() {
+        tooltipTable.visible = true;
+        positionTooltip();
+    }
+    
+    boolean isOreOrResource(Tile tile) {
+        return ResourceInfoCache.source(tile) != null;
+    }
+    
     void showOreTooltip(Tile tile) {
-        if (tile == null) return;
+        ResourceInfoCache.Entry entry = resourceInfo.get(ResourceInfoCache.source(tile));
+        if (entry == null) return;
         
-        tooltipTable.clear();
         tooltipTable.visible = true;
+        rows.begin();
         
-        Item drop = null;
-        mindustry.type.Liquid liquidDrop = null;
-        
-        if (tile.overlay() != null && tile.overlay().itemDrop != null) {
-            drop = tile.overlay().itemDrop;
-        } else if (tile.floor() != null && tile.floor().liquidDrop != null) {
-            liquidDrop = tile.floor().liquidDrop;
+        addTitle(entry.icon, entry.title);
+        for (String line : entry.lines) {
+            rows.line().append(line);
         }
         
-        if (drop != null) {
-            Table titleRow = new Table();
-            if (settings.showIcons && drop.fullIcon != null) {
-                titleRow.image(drop.fullIcon).size(24f * (settings.fontSize + 1)).padRight(4f);
-            }
-            titleRow.add(colors.accentColor + drop.localizedName).style(Styles.outlineLabel);
-            tooltipTable.add(titleRow).left().row();
-            
-            if (!settings.compactMode) {
-                tooltipTable.add(colors.infoColor + FormatUtil.repeat("─", 20)).padTop(2f).padBottom(2f).row();
-            }
-            
-            tooltipTable.add(colors.statColor + "Type: " + colors.infoColor + "Ore Resource").left().row();
-            
-            if (tile.overlay().name != null) {
-                tooltipTable.add(colors.statColor + "Block: " + colors.infoColor + tile.overlay().localizedName).left().row();
-            }
-            
-            if (drop.hardness > 0) {
-                tooltipTable.add(colors.statColor + "Hardness: " + colors.infoColor + (int)drop.hardness).left().row();
-            }
-            
-            if (drop.cost > 0) {
-                tooltipTable.add(colors.statColor + "Value: " + colors.infoColor + drop.cost).left().row();
-            }
-            
-            if (drop.explosiveness > 0) {
-                tooltipTable.add(colors.warningColor + "⚠ Explosive: " + (int)(drop.explosiveness * 100) + "%").left().row();
-            }
-            
-            if (drop.flammability > 0) {
-                tooltipTable.add(colors.warningColor + "🔥 Flammable: " + (int)(drop.flammability * 100) + "%").left().row();
-            }
-            
-            if (drop.radioactivity > 0) {
-                tooltipTable.add(colors.warningColor + "☢ Radioactive: " + (int)(drop.radioactivity * 100) + "%").left().row();
-            }
-        } else if (liquidDrop != null) {
-            Table titleRow = new Table();
-            if (settings.showIcons && liquidDrop.fullIcon != null) {
-                titleRow.image(liquidDrop.fullIcon).size(24f * (settings.fontSize + 1)).padRight(4f);
-            }
-            titleRow.add(colors.accentColor + liquidDrop.localizedName).style(Styles.outlineLabel);
-            tooltipTable.add(titleRow).left().row();
-            
-            if (!settings.compactMode) {
-                tooltipTable.add(colors.infoColor + FormatUtil.repeat("─", 20)).padTop(2f).padBottom(2f).row();
-            }
-            
-            tooltipTable.add(colors.statColor + "Type: " + colors.infoColor + "Liquid Pool").left().row();
-            
-            if (tile.floor().name != null) {
-                tooltipTable.add(colors.statColor + "Block: " + colors.infoColor + tile.floor().localizedName).left().row();
-            }
-            
-            tooltipTable.add(colors.statColor + "Temperature: " + colors.infoColor + (int)(liquidDrop.temperature * 100) + "°C").left().row();
-            
-            if (liquidDrop.viscosity > 0) {
-                tooltipTable.add(colors.statColor + "Viscosity: " + colors.infoColor + String.format("%.2f", liquidDrop.viscosity)).left().row();
-            }
-            
-            if (liquidDrop.flammability > 0) {
-                tooltipTable.add(colors.warningColor + "🔥 Flammable: " + (int)(liquidDrop.flammability * 100) + "%").left().row();
-            }
-            
-            if (liquidDrop.explosiveness > 0) {
-                tooltipTable.add(colors.warningColor + "⚠ Explosive: " + (int)(liquidDrop.explosiveness * 100) + "%").left().row();
-            }
-        } else if (tile.block() != Blocks.air) {
-            Table titleRow = new Table();
-            if (settings.showIcons && tile.block().fullIcon != null) {
-                titleRow.image(tile.block().fullIcon).size(24f * (settings.fontSize + 1)).padRight(4f);
-            }
-            titleRow.add(colors.accentColor + tile.block().localizedName).style(Styles.outlineLabel);
-            tooltipTable.add(titleRow).left().row();
-            
-            if (!settings.compactMode) {
-                tooltipTable.add(colors.infoColor + FormatUtil.repeat("─", 20)).padTop(2f).padBottom(2f).row();
-            }
-            
-            tooltipTable.add(colors.statColor + "Type: " + colors.infoColor + "Environment Block").left().row();
-        }
-        
-        tooltipTable.add(colors.infoColor + "Position: " + tile.x + ", " + tile.y).left().padTop(4f).row();
+        rows.note().append(colors.infoColor).append("Position: ").append(tile.x).append(", ").append(tile.y);
         
+        rows.end();
         positionTooltip();
-        tooltipTable.pack();
     }
     
     void showBuildingTooltip(Building build) {
-        tooltipTable.clear();
         tooltipTable.visible = true;
-        
-        Table titleRow = new Table();
-        if (settings.showIcons && build.block.fullIcon != null) {
-            titleRow.image(build.block.fullIcon).size(24f * (settings.fontSize + 1)).padRight(4f);
-        }
-        titleRow.add(colors.accentColor + build.block.localizedName).style(Styles.outlineLabel);
-        tooltipTable.add(titleRow).left().row();
-        
-        if (!settings.compactMode) {
-            tooltipTable.add(colors.infoColor + FormatUtil.repeat("─", 20)).padTop(2f).padBottom(2f).row();
-        }
+        rows.begin();
+        writeBuilding(rows, build);
+        rows.end();
+        positionTooltip();
+    }
+    
+    void writeBuilding(TooltipRows rows, Building build) {
+        addTitle(rows, build.block.fullIcon, build.block.localizedName);
         
         float healthPercent = (build.health / build.maxHealth) * 100f;
         String healthColor = colors.getPercentColor(healthPercent);
         
-        tooltipTable.add("🛡 " + colors.statColor + "HP: " + healthColor + (int)build.health + colors.infoColor + "/" + (int)build.maxHealth).left().row();
+        rows.line().append("🛡 ").append(colors.statColor).append("HP: ").append(healthColor).append((int)build.health).append(colors.infoColor).append('/').append((int)build.maxHealth);
         
         if (settings.showWarnings && healthPercent < 30f) {
-            tooltipTable.add("  " + colors.warningColor + "⚠ Critical Damage!").left().row();
+            rows.line().append("  ").append(colors.warningColor).append("⚠ Critical Damage!");
         }
         
         if (build.power != null && settings.showPowerDetails) {
-            buildingData.addPowerInfo(tooltipTable, build);
+            buildingData.addPowerInfo(rows, build);
         }
         
         if (build.items != null && settings.showStorageBreakdown) {
-            buildingData.addItemInfo(tooltipTable, build);
+            buildingData.addItemInfo(rows, build);
         }
         
         if (build.liquids != null) {
-            buildingData.addLiquidInfo(tooltipTable, build);
+            buildingData.addLiquidInfo(rows, build);
         }
         
         if (settings.showItemFlow) {
-            buildingData.addProductionInfo(tooltipTable, build);
+            buildingData.addProductionInfo(rows, build);
         }
         
         if (settings.showTurretInfo) {
-            buildingData.addTurretInfo(tooltipTable, build);
+            buildingData.addTurretInfo(rows, build);
         }
         
         if (settings.showDrillInfo) {
-            buildingData.addDrillInfo(tooltipTable, build);
+            buildingData.addDrillInfo(rows, build);
         }
         
         if (build.block instanceof mindustry.world.blocks.units.Reconstructor) {
-            addReconstructorInfo(tooltipTable, build);
+            addReconstructorInfo(rows, build);
         }
         
         if (build.block instanceof mindustry.world.blocks.units.UnitFactory) {
-            addUnitFactoryInfo(tooltipTable, build);
+            addUnitFactoryInfo(rows, build);
         }
         
         if (settings.showConnectionInfo) {
-            buildingData.addConnectionInfo(tooltipTable, build);
+            buildingData.addConnectionInfo(rows, build);
         }
         
-        buildingData.addConveyorFlow(tooltipTable, build);
+        buildingData.addConveyorFlow(rows, build);
         
         if (settings.showPowerDetails && build.power != null) {
-            buildingData.addPowerNetworkInfo(tooltipTable, build);
+            buildingData.addPowerNetworkInfo(rows, build);
         }
         
         if (settings.showTeamStats) {
-            buildingData.addTeamInfo(tooltipTable, build);
+            buildingData.addTeamInfo(rows, build);
         }
         
-        if (isPinned) {
-            tooltipTable.add("[royal]📌 PINNED (P to unpin)").left().padTop(4f).row();
+        if (settings.showProductionHistory) {
+            addHistoryInfo(rows, build);
         }
         
-        positionTooltip();
-        tooltipTable.pack();
+        if (pinnedPanels.isPinned(build)) {
+            rows.note().append("[royal]📌 PINNED (P to unpin)");
+        }
     }
     
     void showUnitTooltip(Unit unit) {
-        tooltipTable.clear();
         tooltipTable.visible = true;
+        rows.begin();
+        writeUnit(rows, unit);
+        rows.end();
+        positionTooltip();
+    }
+    
+    void writeUnit(TooltipRows rows, Unit unit) {
+        addTitle(rows, unit.type.fullIcon, unit.type.localizedName);
+        
+        unitData.addHealthInfo(rows, unit);
+        unitData.addAdvancedInfo(rows, unit);
+        unitData.addWeaponInfo(rows, unit);
         
-        Table titleRow = new Table();
-        if (settings.showIcons && unit.type.fullIcon != null) {
-            titleRow.image(unit.type.fullIcon).size(24f * (settings.fontSize + 1)).padRight(4f);
+        if (pinnedPanels.isPinned(unit)) {
+            rows.note().append("[royal]📌 PINNED (P to unpin)");
         }
-        titleRow.add(colors.accentColor + unit.type.localizedName).style(Styles.outlineLabel);
-        tooltipTable.add(titleRow).left().row();
+    }
+    
+    void addTitle(TextureRegion icon, String name) {
+        addTitle(rows, icon, name);
+    }
+    
+    void addTitle(TooltipRows rows, TextureRegion icon, String name) {
+        TextureRegion shown = settings.showIcons ? icon : null;
+        rows.title(shown, 24f * (settings.fontSize + 1)).append(colors.accentColor).append(name);
         
         if (!settings.compactMode) {
-            tooltipTable.add(colors.infoColor + FormatUtil.repeat("─", 20)).padTop(2f).padBottom(2f).row();
+            rows.separator().append(colors.infoColor).append(SEPARATOR);
         }
-        
-        unitData.addHealthInfo(tooltipTable, unit);
-        unitData.addAdvancedInfo(tooltipTable, unit);
-        unitData.addWeaponInfo(tooltipTable, unit);
-        
-        positionTooltip();
-        tooltipTable.pack();
     }
     
     void positionTooltip() {
@@ -350,39 +285,71 @@ public class TooltipRenderer {
         tooltipTable.color.a = settings.tooltipOpacity / 10f;
     }
     
-    void updateProductionTracking() {
-        if (lastHoveredBuilding != null) {
-            float status = lastHoveredBuilding.power != null ? lastHoveredBuilding.power.status : 0f;
-            productionHistory[historyIndex] = status;
-            historyIndex = (historyIndex + 1) % 60;
+    void addHistoryInfo(TooltipRows rows, Building build) {
+        int slot = history.watch(build);
+        if (slot == -1 || history.count(slot) < 2) return;
+        
+        rows.header().append(colors.statColor).append("─ History ─");
+        
+        if (build.power != null) {
+            rows.graph(history, slot, BuildingHistory.POWER, true, Color.yellow)
+                .append(colors.infoColor).append("Power ").append(colors.accentColor).append((int)(history.latest(slot, BuildingHistory.POWER) * 100f)).append('%');
+        }
+        
+        if (build.items != null) {
+            rows.graph(history, slot, BuildingHistory.ITEMS, false, Color.orange)
+                .append(colors.infoColor).append("Items ").append(colors.accentColor).append((int)history.latest(slot, BuildingHistory.ITEMS));
+        }
+        
+        if (build.liquids != null && build.block.liquidCapacity > 0f) {
+            rows.graph(history, slot, BuildingHistory.LIQUID, true, Color.sky)
+                .append(colors.infoColor).append("Liquid ").append(colors.accentColor).append((int)(history.latest(slot, BuildingHistory.LIQUID) * 100f)).append('%');
+        }
+        
+        if (build.block.hasConsumers) {
+            rows.graph(history, slot, BuildingHistory.EFFICIENCY, true, Color.lime)
+                .append(colors.infoColor).append("Speed ").append(colors.accentColor).append((int)(history.latest(slot, BuildingHistory.EFFICIENCY) * 100f)).append('%');
         }
     }
     
-    public void setPinned(Building building) {
-        if (pinnedBuilding == building) {
-            pinnedBuilding = null;
-            isPinned = false;
-        } else {
-            pinnedBuilding = building;
-            isPinned = true;
-        }
+    public void setPinned(Posc target) {
+        pinnedPanels.toggle(target);
+        sampledTarget = null;
     }
     
     public Building getLastHoveredBuilding() {
         return lastHoveredBuilding;
     }
     
-    void addReconstructorInfo(Table table, Building build) {
+    public Unit getLastHoveredUnit() {
+        return lastHoveredUnit;
+    }
+    
+    public void reserveTracked(int pinned) {
+        history.reserve(pinned);
+        buildingData.reserveTracked(pinned);
+    }
+    
+    public PinnedPanels getPinnedPanels() {
+        return pinnedPanels;
+    }
+    
+    public HoverUnitFinder getHoverFinder() {
+        return hoverFinder;
+    }
+    
+    void addReconstructorInfo(TooltipRows rows, Building build) {
         if (!(build.block instanceof mindustry.world.blocks.units.Reconstructor)) return;
         
         mindustry.world.blocks.units.Reconstructor reconstructor = (mindustry.world.blocks.units.Reconstructor)build.block;
         
-        table.add(colors.accentColor + "⚙ Reconstructor Info:").left().row();
+        rows.line().append(colors.accentColor).append("⚙ Reconstructor Info:");
         
         if (reconstructor.upgrades.size > 0) {
-            for (var upgrade : reconstructor.upgrades) {
+            for (int i = 0; i < reconstructor.upgrades.size; i++) {
+                var upgrade = reconstructor.upgrades.get(i);
                 if (upgrade.length >= 2) {
-                    table.add(colors.statColor + "  " + upgrade[0].localizedName + " → " + upgrade[1].localizedName).left().row();
+                    rows.line().append(colors.statColor).append("  ").append(upgrade[0].localizedName).append(" → ").append(upgrade[1].localizedName);
                 }
             }
         }
@@ -390,24 +357,24 @@ public class TooltipRenderer {
         if (build instanceof mindustry.world.blocks.units.Reconstructor.ReconstructorBuild) {
             mindustry.world.blocks.units.Reconstructor.ReconstructorBuild rb = (mindustry.world.blocks.units.Reconstructor.ReconstructorBuild)build;
             if (rb.unit() != null) {
-                table.add(colors.infoColor + "  Current: " + rb.unit().localizedName).left().row();
+                rows.line().append(colors.infoColor).append("  Current: ").append(rb.unit().localizedName);
                 float progress = rb.progress() * 100f;
-                table.add(colors.infoColor + "  Progress: " + (int)progress + "%").left().row();
+                rows.line().append(colors.infoColor).append("  Progress: ").append((int)progress).append('%');
             }
         }
     }
     
-    void addUnitFactoryInfo(Table table, Building build) {
+    void addUnitFactoryInfo(TooltipRows rows, Building build) {
         if (!(build.block instanceof mindustry.world.blocks.units.UnitFactory)) return;
         
         mindustry.world.blocks.units.UnitFactory factory = (mindustry.world.blocks.units.UnitFactory)build.block;
         
-        table.add(colors.accentColor + "🏭 Factory Info:").left().row();
+        rows.line().append(colors.accentColor).append("🏭 Factory Info:");
         
         if (factory.plans.size > 0) {
-            table.add(colors.statColor + "  Can produce:").left().row();
-            for (var plan : factory.plans) {
-                table.add(colors.infoColor + "    • " + plan.unit.localizedName).left().row();
+            rows.line().append(colors.statColor).append("  Can produce:");
+            for (int i = 0; i < factory.plans.size; i++) {
+                rows.line().append(colors.infoColor).append("    • ").append(factory.plans.get(i).unit.localizedName);
             }
         }
         
@@ -415,10 +382,10 @@ public class TooltipRenderer {
             mindustry.world.blocks.units.UnitFactory.UnitFactoryBuild fb = (mindustry.world.blocks.units.UnitFactory.UnitFactoryBuild)build;
             if (fb.currentPlan >= 0 && fb.currentPlan < factory.plans.size) {
                 var plan = factory.plans.get(fb.currentPlan);
-                table.add(colors.infoColor + "  Building: " + plan.unit.localizedName).left().row();
+                rows.line().append(colors.infoColor).append("  Building: ").append(plan.unit.localizedName);
                 float progress = fb.progress * 100f;
-                table.add(colors.infoColor + "  Progress: " + (int)progress + "%").left().row();
+                rows.line().append(colors.infoColor).append("  Progress: ").append((int)progress).append('%');
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,215 @@
+package tooltipsplus.ui;
+
+import arc.graphics.Color;
+import arc.graphics.g2d.TextureRegion;
+import arc.scene.ui.Image;
+import arc.scene.ui.Label;
+import arc.scene.ui.layout.Table;
+import mindustry.ui.Styles;
+import tooltipsplus.data.BuildingHistory;
+import java.util.Arrays;
+
+public class TooltipRows {
+    private static final int TITLE = 0;
+    private static final int SEPARATOR = 1;
+    private static final int HEADER = 2;
+    private static final int LINE = 3;
+    private static final int NOTE = 4;
+    private static final int GRAPH = 5;
+
+    private static final float GRAPH_WIDTH = 120f;
+    private static final float GRAPH_HEIGHT = 16f;
+
+    private final Table table;
+
+    private int[] kinds = new int[32];
+    private Label[] labels = new Label[32];
+    private StringBuilder[] texts = new StringBuilder[32];
+    private Table[] titleRows = new Table[32];
+    private Image[] icons = new Image[32];
+    private TextureRegion[] iconRegions = new TextureRegion[32];
+    private float[] iconSizes = new float[32];
+    private Table[] graphRows = new Table[32];
+    private Sparkline[] sparklines = new Sparkline[32];
+
+    private int count = 0;
+    private int used = 0;
+    private boolean structureChanged = true;
+    private int layoutCount = 0;
+
+    public TooltipRows(Table table) {
+        this.table = table;
+    }
+
+    public void begin() {
+        used = 0;
+    }
+
+    public StringBuilder title(TextureRegion icon, float iconSize) {
+        int slot = next(TITLE);
+
+        if (titleRows[slot] == null) {
+            titleRows[slot] = new Table();
+            icons[slot] = new Image();
+        }
+
+        if ((iconRegions[slot] == null) != (icon == null) || iconSizes[slot] != iconSize) {
+            structureChanged = true;
+        }
+        if (icon != null && iconRegions[slot] != icon) {
+            icons[slot].setDrawable(icon);
+        }
+        iconRegions[slot] = icon;
+        iconSizes[slot] = iconSize;
+
+        return texts[slot];
+    }
+
+    public StringBuilder separator() {
+        return texts[next(SEPARATOR)];
+    }
+
+    public StringBuilder header() {
+        return texts[next(HEADER)];
+    }
+
+    public StringBuilder line() {
+        return texts[next(LINE)];
+    }
+
+    public StringBuilder note() {
+        return texts[next(NOTE)];
+    }
+
+    public StringBuilder graph(BuildingHistory history, int historySlot, int channel, boolean normalized, Color color) {
+        int slot = next(GRAPH);
+
+        if (graphRows[slot] == null) {
+            graphRows[slot] = new Table();
+            sparklines[slot] = new Sparkline();
+        }
+        sparklines[slot].set(history, historySlot, channel, normalized, color);
+
+        return texts[slot];
+    }
+
+    public boolean end() {
+        if (used != count) {
+            structureChanged = true;
+            count = used;
+        }
+
+        boolean textChanged = false;
+        for (int i = 0; i < count; i++) {
+            Label label = labels[i];
+            if (!sameText(label.getText(), texts[i])) {
+                label.setText(texts[i]);
+                textChanged = true;
+            }
+        }
+
+        boolean rebuilt = structureChanged;
+        if (rebuilt) {
+            rebuild();
+            structureChanged = false;
+        }
+
+        if (rebuilt || textChanged) {
+            table.pack();
+            layoutCount++;
+            return true;
+        }
+        return false;
+    }
+
+    public int getRowCount() {
+        return count;
+    }
+
+    public int getLayoutCount() {
+        return layoutCount;
+    }
+
+    private int next(int kind) {
+        int slot = used++;
+        if (slot == kinds.length) grow();
+
+        if (labels[slot] == null) {
+            labels[slot] = new Label("");
+            texts[slot] = new StringBuilder(64);
+            kinds[slot] = -1;
+        }
+
+        if (slot >= count || kinds[slot] != kind) {
+            if (kind == TITLE) {
+                labels[slot].setStyle(Styles.outlineLabel);
+            } else if (kinds[slot] == TITLE || kinds[slot] == -1) {
+                labels[slot].setStyle(Styles.defaultLabel);
+            }
+            kinds[slot] = kind;
+            structureChanged = true;
+        }
+
+        texts[slot].setLength(0);
+        return slot;
+    }
+
+    private void rebuild() {
+        table.clearChildren();
+
+        for (int i = 0; i < count; i++) {
+            switch (kinds[i]) {
+                case TITLE:
+                    Table titleRow = titleRows[i];
+                    titleRow.clearChildren();
+                    if (iconRegions[i] != null) {
+                        titleRow.add(icons[i]).size(iconSizes[i]).padRight(4f);
+                    }
+                    titleRow.add(labels[i]);
+                    table.add(titleRow).left().row();
+                    break;
+                case SEPARATOR:
+                    table.add(labels[i]).padTop(2f).padBottom(2f).row();
+                    break;
+                case HEADER:
+                    table.add(labels[i]).padTop(4f).row();
+                    break;
+                case GRAPH:
+                    Table graphRow = graphRows[i];
+                    graphRow.clearChildren();
+                    graphRow.add(labels[i]).left().growX();
+                    graphRow.add(sparklines[i]).size(GRAPH_WIDTH, GRAPH_HEIGHT).padLeft(4f);
+                    table.add(graphRow).left().growX().row();
+                    break;
+                case NOTE:
+                    table.add(labels[i]).left().padTop(4f).row();
+                    break;
+                default:
+                    table.add(labels[i]).left().row();
+                    break;
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = kinds.length * 2;
+        kinds = Arrays.copyOf(kinds, capacity);
+        labels = Arrays.copyOf(labels, capacity);
+        texts = Arrays.copyOf(texts, capacity);
+        titleRows = Arrays.copyOf(titleRows, capacity);
+        icons = Arrays.copyOf(icons, capacity);
+        iconRegions = Arrays.copyOf(iconRegions, capacity);
+        iconSizes = Arrays.copyOf(iconSizes, capacity);
+        graphRows = Arrays.copyOf(graphRows, capacity);
+        sparklines = Arrays.copyOf(sparklines, capacity);
+    }
+
+    private static boolean sameText(CharSequence a, CharSequence b) {
+        int length = a.length();
+        if (length != b.length()) return false;
+        for (int i = 0; i < length; i++) {
+            if (a.charAt(i) != b.charAt(i)) return false;
+        }
+        return true;
+    }
+}
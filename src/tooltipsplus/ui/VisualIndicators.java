@@ -1,42 +1,69 @@
 package tooltipsplus.ui;
 
+import arc.Core;
 import arc.graphics.*;
 import arc.graphics.g2d.*;
 import arc.struct.Seq;
 import arc.util.Time;
 import arc.util.Align;
 import arc.math.Mathf;
+import arc.math.geom.Rect;
 import mindustry.Vars;
-import mindustry.gen.Groups;
+import mindustry.gen.*;
+import mindustry.graphics.Layer;
 import mindustry.ui.Fonts;
 import mindustry.world.blocks.defense.turrets.Turret;
-import mindustry.world.blocks.units.*;
 import tooltipsplus.config.*;
 import tooltipsplus.data.RangeData;
+import tooltipsplus.data.RangeIndex;
+import java.util.Arrays;
 
 public class VisualIndicators {
     private Settings settings;
-    private Seq<RangeData> rangeCache = new Seq<>();
-    private float rangeCacheTimer = 0f;
+    private final RangeIndex rangeIndex = new RangeIndex();
+    private final Seq<RangeData> rangeCache = new Seq<>(false, 64, RangeData.class);
+    private RangeData[] rangePool = new RangeData[0];
+    private final Rect viewBounds = new Rect();
+    private final RangeCoverageRenderer coverage = new RangeCoverageRenderer();
+    private final QuadBatch coneBatch = new QuadBatch(1024);
+    private final Runnable coveragePass = this::drawCoveragePass;
     private float animationTimer = 0f;
+    float conePixelsPerUnit = 1f;
+    private int lastConeCount = 0;
     
+    private static final float RANGE_LAYER = Layer.overlayUI - 1f;
     private static final float VISION_CONE_ANGLE = 60f;
-    private static final int VISION_CONE_SEGMENTS = 20;
+    private static final int MIN_CONE_SEGMENTS = 4;
+    private static final int MAX_CONE_SEGMENTS = 32;
+    private static final float CONE_PIXELS_PER_SEGMENT = 16f;
+    private static final float[] CONE_COS = new float[MAX_CONE_SEGMENTS + 1];
+    private static final float[] CONE_SIN = new float[MAX_CONE_SEGMENTS + 1];
+    
+    static {
+        for (int k = 0; k <= MAX_CONE_SEGMENTS; k++) {
+            float angle = -VISION_CONE_ANGLE / 2f + VISION_CONE_ANGLE * k / MAX_CONE_SEGMENTS;
+            CONE_COS[k] = Mathf.cosDeg(angle);
+            CONE_SIN[k] = Mathf.sinDeg(angle);
+        }
+    }
     
     public VisualIndicators(Settings settings) {
         this.settings = settings;
+        rangeIndex.register();
     }
     
     public void update() {
         animationTimer += Time.delta / 60f;
+        Core.camera.bounds(viewBounds);
         
         if (settings.showRangeIndicators) {
             updateRangeCache();
-            drawRangeIndicators();
         }
         
-        if (settings.showEffectRanges) {
-            drawEffectRanges();
+        if ((settings.showRangeIndicators || settings.showEffectRanges) && coverage.isSupported()) {
+            Draw.draw(RANGE_LAYER, coveragePass);
+        } else {
+            drawRangeFallback();
         }
         
         if (settings.showVisionCones) {
@@ -44,18 +71,97 @@ public class VisualIndicators {
         }
     }
     
+    void drawCoveragePass() {
+        if (coverage.begin()) {
+            drawRangeCoverage();
+        } else {
+            drawRangeFallback();
+        }
+    }
+    
+    void drawRangeFallback() {
+        if (settings.showRangeIndicators) drawRangeIndicators();
+        if (settings.showEffectRanges) drawEffectRanges();
+    }
+    
     void updateRangeCache() {
-        rangeCacheTimer += Time.delta / 60f;
-        if (rangeCacheTimer < Constants.RANGE_UPDATE) return;
-        
-        rangeCacheTimer = 0f;
         rangeCache.clear();
+        
+        for (int i = rangeIndex.size() - 1; i >= 0; i--) {
+            if (rangeIndex.kind[i] != RangeIndex.TURRET || !showTeam(rangeIndex.team[i])) continue;
+            if (!visible(rangeIndex.x[i], rangeIndex.y[i], rangeIndex.range[i])) continue;
+            if (!rangeIndex.validate(i)) continue;
+            
+            if (rangeCache.size == rangePool.length) {
+                rangePool = Arrays.copyOf(rangePool, Math.max(16, rangePool.length * 2));
+            }
+            RangeData data = rangePool[rangeCache.size];
+            if (data == null) data = rangePool[rangeCache.size] = new RangeData();
+            
+            rangeCache.add(data.set(rangeIndex.x[i], rangeIndex.y[i], rangeIndex.range[i], Constants.RANGE_ATTACK, true));
+        }
+    }
+    
+    boolean showTeam(int team) {
+        return team == Vars.player.team().id || settings.showTeamRanges;
+    }
+    
+    boolean visible(float x, float y, float range) {
+        return x + range >= viewBounds.x && x - range <= viewBounds.x + viewBounds.width
+            && y + range >= viewBounds.y && y - range <= viewBounds.y + viewBounds.height;
+    }
+    
+    float rangePulseScale() {
+        return settings.animateRanges ? 1f + Mathf.sin(animationTimer * 2f) * 0.05f : 1f;
+    }
+    
+    float effectPulseAlpha() {
+        return settings.animateRanges ? 
+            settings.effectRangeOpacity * (1f + Mathf.sin(animationTimer * 3f) * 0.3f) : 
+            settings.effectRangeOpacity;
+    }
+    
+    boolean showEffect(int slot, int playerTeam) {
+        if (rangeIndex.kind[slot] == RangeIndex.TURRET || rangeIndex.team[slot] != playerTeam) return false;
+        
+        float range = rangeIndex.range[slot];
+        return range > 0 && visible(rangeIndex.x[slot], rangeIndex.y[slot], range) && rangeIndex.validate(slot);
+    }
+    
+    void drawRangeCoverage() {
+        if (settings.showRangeIndicators) {
+            float pulseScale = rangePulseScale();
+            for (int i = 0; i < rangeCache.size; i++) {
+                RangeData range = rangeCache.items[i];
+                coverage.circle(range.x, range.y, range.isPulsing ? range.range * pulseScale : range.range, RangeCoverageRenderer.ATTACK);
+            }
+        }
+        
+        float effectAlpha = 0f;
+        if (settings.showEffectRanges) {
+            effectAlpha = effectPulseAlpha();
+            int playerTeam = Vars.player.team().id;
+            
+            for (int i = rangeIndex.size() - 1; i >= 0; i--) {
+                if (!showEffect(i, playerTeam)) continue;
+                
+                int kind = rangeIndex.kind[i];
+                int channel = kind == RangeIndex.OVERDRIVE ? RangeCoverageRenderer.OVERDRIVE
+                    : kind == RangeIndex.FACTORY ? RangeCoverageRenderer.FACTORY : RangeCoverageRenderer.REPAIR;
+                coverage.circle(rangeIndex.x[i], rangeIndex.y[i], rangeIndex.range[i], channel);
+            }
+        }
+        
+        coverage.end(Constants.RANGE_ATTACK, Constants.RANGE_EFFECT, Constants.RANGE_REPAIR, Color.cyan,
+            settings.rangeOpacity * 0.3f, Math.min(settings.rangeOpacity * 1.5f, 1f),
+            effectAlpha, Math.min(effectAlpha * 2f, 1f));
     }
     
     void drawRangeIndicators() {
-        float pulseScale = settings.animateRanges ? 1f + Mathf.sin(animationTimer * 2f) * 0.05f : 1f;
+        float pulseScale = rangePulseScale();
         
-        for (RangeData range : rangeCache) {
+        for (int i = 0; i < rangeCache.size; i++) {
+            RangeData range = rangeCache.items[i];
             float drawRange = range.isPulsing ? range.range * pulseScale : range.range;
             
             Draw.color(range.color, settings.rangeOpacity * 0.3f);
@@ -70,10 +176,16 @@ public class VisualIndicators {
     }
     
     void drawTurretVisionCones() {
-        Groups.build.each(build -> {
-            if (!build.isValid() || build.dead || build.health <= 0) return;
-            if (build.team != Vars.player.team() && !settings.showTeamRanges) return;
+        conePixelsPerUnit = Core.graphics.getWidth() / Math.max(viewBounds.width, 1f);
+        coneBatch.resetStats();
+        int cones = 0;
+        
+        for (int i = rangeIndex.size() - 1; i >= 0; i--) {
+            if (rangeIndex.kind[i] != RangeIndex.TURRET || !showTeam(rangeIndex.team[i])) continue;
+            if (!visible(rangeIndex.x[i], rangeIndex.y[i], rangeIndex.range[i])) continue;
+            if (!rangeIndex.validate(i)) continue;
             
+            Building build = rangeIndex.buildings[i];
             if (build.block instanceof Turret) {
                 Turret turret = (Turret)build.block;
                 
@@ -92,94 +204,122 @@ public class VisualIndicators {
                 float alpha;
                 
                 if (isFiring) {
-                    coneColor = Color.valueOf("ff4444");
+                    coneColor = Constants.CONE_FIRING;
                     alpha = 0.45f + Mathf.absin(animationTimer * 6f, 0.25f);
                 } else if (hasTarget) {
-                    coneColor = Color.valueOf("ffaa44");
+                    coneColor = Constants.CONE_TARGETING;
                     alpha = 0.38f + Mathf.absin(animationTimer * 3f, 0.12f);
                 } else {
-                    coneColor = Color.valueOf("44ff44");
+                    coneColor = Constants.CONE_IDLE;
                     alpha = 0.28f;
                 }
                 
                 drawVisionCone(build.x, build.y, rotation, turret.range, coneColor, alpha);
+                cones++;
             }
-        });
+        }
+        
+        flushCones();
+        lastConeCount = cones;
+    }
+    
+    public int getLastConeCount() {
+        return lastConeCount;
+    }
+    
+    public int getConeQuadCount() {
+        return coneBatch.getQuadCount();
+    }
+    
+    public int getConeSubmitCount() {
+        return coneBatch.getSubmitCount();
+    }
+    
+    void flushCones() {
+        coneBatch.flush(Core.atlas.white().texture);
     }
     
     void drawVisionCone(float x, float y, float rotation, float range, Color color, float alpha) {
-        float halfAngle = VISION_CONE_ANGLE / 2f;
-        
-        Draw.color(color, alpha * settings.rangeOpacity);
-        
-        Fill.tri(
-            x, y,
-            x + Mathf.cosDeg(rotation - halfAngle) * range,
-            y + Mathf.sinDeg(rotation - halfAngle) * range,
-            x + Mathf.cosDeg(rotation + halfAngle) * range,
-            y + Mathf.sinDeg(rotation + halfAngle) * range
-        );
-        
-        for (int i = 0; i < VISION_CONE_SEGMENTS; i++) {
-            float angle1 = rotation - halfAngle + (VISION_CONE_ANGLE * i / VISION_CONE_SEGMENTS);
-            float angle2 = rotation - halfAngle + (VISION_CONE_ANGLE * (i + 1) / VISION_CONE_SEGMENTS);
-            
-            Fill.tri(
-                x, y,
-                x + Mathf.cosDeg(angle1) * range,
-                y + Mathf.sinDeg(angle1) * range,
-                x + Mathf.cosDeg(angle2) * range,
-                y + Mathf.sinDeg(angle2) * range
-            );
+        float arcPixels = range * conePixelsPerUnit * VISION_CONE_ANGLE * Mathf.degRad;
+        int segments = MIN_CONE_SEGMENTS;
+        while (segments < MAX_CONE_SEGMENTS && arcPixels / segments > CONE_PIXELS_PER_SEGMENT) {
+            segments *= 2;
         }
+        int stride = MAX_CONE_SEGMENTS / segments;
         
-        Draw.color(color, alpha * settings.rangeOpacity * 2f);
-        Lines.stroke(2f);
-        Lines.arc(x, y, range, VISION_CONE_ANGLE / 360f, rotation - halfAngle);
-        
-        Lines.line(x, y, x + Mathf.cosDeg(rotation - halfAngle) * range, y + Mathf.sinDeg(rotation - halfAngle) * range);
-        Lines.line(x, y, x + Mathf.cosDeg(rotation + halfAngle) * range, y + Mathf.sinDeg(rotation + halfAngle) * range);
+        float cos = Mathf.cosDeg(rotation), sin = Mathf.sinDeg(rotation);
+        float fill = Color.toFloatBits(color.r, color.g, color.b, Math.min(alpha * settings.rangeOpacity, 1f));
+        float edge = Color.toFloatBits(color.r, color.g, color.b, Math.min(alpha * settings.rangeOpacity * 2f, 1f));
+        float inner = range - 1f, outer = range + 1f;
+        TextureRegion white = Core.atlas.white();
         
-        Draw.reset();
+        float px = 0f, py = 0f, ppx = 0f, ppy = 0f;
+        for (int k = 0; k <= MAX_CONE_SEGMENTS; k += stride) {
+            float dx = CONE_COS[k] * cos - CONE_SIN[k] * sin;
+            float dy = CONE_COS[k] * sin + CONE_SIN[k] * cos;
+            
+            if (k == 0 || k == MAX_CONE_SEGMENTS) {
+                coneBatch.quad(
+                    x + dy, y - dx,
+                    x - dy, y + dx,
+                    x + dx * range - dy, y + dy * range + dx,
+                    x + dx * range + dy, y + dy * range - dx,
+                    white.u, white.v, white.u2, white.v2, edge);
+            }
+            
+            if (k > 0) {
+                coneBatch.quad(
+                    x + px * inner, y + py * inner,
+                    x + px * outer, y + py * outer,
+                    x + dx * outer, y + dy * outer,
+                    x + dx * inner, y + dy * inner,
+                    white.u, white.v, white.u2, white.v2, edge);
+            }
+            
+            if (k > stride && (k / stride) % 2 == 0) {
+                coneBatch.quad(
+                    x, y,
+                    x + ppx * range, y + ppy * range,
+                    x + px * range, y + py * range,
+                    x + dx * range, y + dy * range,
+                    white.u, white.v, white.u2, white.v2, fill);
+            }
+            
+            ppx = px;
+            ppy = py;
+            px = dx;
+            py = dy;
+        }
     }
     
     void drawEffectRanges() {
-        Groups.build.each(build -> {
-            if (!build.isValid() || build.dead || build.health <= 0) return;
-            if (build.team != Vars.player.team()) return;
+        int playerTeam = Vars.player.team().id;
+        float pulseAlpha = effectPulseAlpha();
+        
+        for (int i = rangeIndex.size() - 1; i >= 0; i--) {
+            if (!showEffect(i, playerTeam)) continue;
             
-            Color effectColor = null;
-            float range = 0f;
+            int kind = rangeIndex.kind[i];
+            float range = rangeIndex.range[i];
+            Building build = rangeIndex.buildings[i];
+            Color effectColor;
             
-            if (build.block.name.contains("mend")) {
-                effectColor = Constants.RANGE_REPAIR;
-                range = 60f;
-            } else if (build.block.name.contains("overdrive")) {
+            if (kind == RangeIndex.OVERDRIVE) {
                 effectColor = Constants.RANGE_EFFECT;
-                range = 80f;
-            } else if (build.block instanceof RepairTurret) {
-                RepairTurret rt = (RepairTurret)build.block;
-                effectColor = Constants.RANGE_REPAIR;
-                range = rt.repairRadius;
-            } else if (build.block instanceof UnitFactory) {
+            } else if (kind == RangeIndex.FACTORY) {
                 effectColor = Color.cyan;
-                range = 40f;
+            } else {
+                effectColor = Constants.RANGE_REPAIR;
             }
             
-            if (effectColor != null && range > 0) {
-                float pulseAlpha = settings.animateRanges ? 
-                    settings.effectRangeOpacity * (1f + Mathf.sin(animationTimer * 3f) * 0.3f) : 
-                    settings.effectRangeOpacity;
-                
-                Draw.color(effectColor, pulseAlpha);
-                Fill.circle(build.x, build.y, range);
-                
-                Draw.color(effectColor, pulseAlpha * 2f);
-                Lines.stroke(1.5f);
-                Lines.dashCircle(build.x, build.y, range);
-                
-                Draw.reset();
-            }
-        });
+            Draw.color(effectColor, pulseAlpha);
+            Fill.circle(build.x, build.y, range);
+            
+            Draw.color(effectColor, pulseAlpha * 2f);
+            Lines.stroke(1.5f);
+            Lines.dashCircle(build.x, build.y, range);
+            
+            Draw.reset();
+        }
     }
 }
\ No newline at end of file
@@ -1,32 +1,102 @@
 package tooltipsplus.util;
 
-import arc.util.Strings;
+import arc.struct.ObjectMap;
 
 public class FormatUtil {
+    private static final int MAX_CACHED_REPEAT = 64;
+    private static final int[] POWERS = {1, 10, 100, 1000, 10000};
+    private static final ObjectMap<String, String[]> repeatCache = new ObjectMap<>();
+
     public static String formatNumber(float num) {
-        if (num >= 1000000) {
-            return Strings.autoFixed(num / 1000000f, 1) + "M";
-        } else if (num >= 1000) {
-            return Strings.autoFixed(num / 1000f, 1) + "K";
+        return appendNumber(new StringBuilder(8), num).toString();
+    }
+
+    public static String formatTime(float seconds) {
+        return appendTime(new StringBuilder(8), seconds).toString();
+    }
+
+    public static StringBuilder appendNumber(StringBuilder sb, float num) {
+        float abs = Math.abs(num);
+        if (abs >= 1000000000f) {
+            return appendFixed(sb, num / 1000000000f, 1).append('B');
+        } else if (abs >= 1000000f) {
+            return appendFixed(sb, num / 1000000f, 1).append('M');
+        } else if (abs >= 1000f) {
+            return appendFixed(sb, num / 1000f, 1).append('K');
+        }
+        return appendFixed(sb, num, 1);
+    }
+
+    public static StringBuilder appendFixed(StringBuilder sb, float value, int decimals) {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            return sb.append(value);
+        }
+
+        decimals = Math.max(0, Math.min(decimals, POWERS.length - 1));
+        int power = POWERS[decimals];
+        long scaled = Math.round(Math.abs((double)value) * power);
+
+        if (value < 0 && scaled != 0) sb.append('-');
+        sb.append(scaled / power);
+
+        int fraction = (int)(scaled % power);
+        if (fraction != 0) {
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                decimals--;
+            }
+            sb.append('.');
+            for (int digit = POWERS[decimals - 1]; digit > fraction && digit > 1; digit /= 10) {
+                sb.append('0');
+            }
+            sb.append(fraction);
+        }
+        return sb;
+    }
+
+    public static StringBuilder appendTime(StringBuilder sb, float seconds) {
+        int total = (int)seconds;
+        if (total < 60) {
+            return sb.append(total).append('s');
+        } else if (total < 3600) {
+            return sb.append(total / 60).append("m ").append(total % 60).append('s');
         }
-        return Strings.autoFixed(num, 1);
+        return sb.append(total / 3600).append("h ").append(total % 3600 / 60).append('m');
     }
-    
+
     public static String repeat(String str, int count) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < count; i++) {
-            sb.append(str);
+        if (count <= 0) return "";
+        if (count > MAX_CACHED_REPEAT) return buildRepeat(str, count);
+
+        String[] cached = repeatCache.get(str);
+        if (cached == null) {
+            cached = new String[MAX_CACHED_REPEAT + 1];
+            repeatCache.put(str, cached);
         }
-        return sb.toString();
+        if (cached[count] == null) {
+            cached[count] = buildRepeat(str, count);
+        }
+        return cached[count];
     }
-    
+
     public static String makeProgressBar(float current, float max, int width) {
-        int filled = (int)((current / max) * width);
-        StringBuilder bar = new StringBuilder("[");
+        return appendProgressBar(new StringBuilder(width + 2), current, max, width).toString();
+    }
+
+    public static StringBuilder appendProgressBar(StringBuilder sb, float current, float max, int width) {
+        int filled = max > 0 ? (int)((current / max) * width) : 0;
+        sb.append('[');
         for (int i = 0; i < width; i++) {
-            bar.append(i < filled ? "█" : "░");
+            sb.append(i < filled ? '█' : '░');
         }
-        bar.append("]");
-        return bar.toString();
+        return sb.append(']');
+    }
+
+    private static String buildRepeat(String str, int count) {
+        StringBuilder sb = new StringBuilder(str.length() * count);
+        for (int i = 0; i < count; i++) {
+            sb.append(str);
+        }
+        return sb.toString();
     }
-}
\ No newline at end of file
+}
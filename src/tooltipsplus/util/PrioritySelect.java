@@ -0,0 +1,39 @@
+package tooltipsplus.util;
+
+public class PrioritySelect {
+    public static <T> void smallest(T[] items, float[] keys, int size, int count) {
+        if (count <= 0 || count >= size) return;
+
+        int target = count - 1;
+        int lo = 0, hi = size - 1;
+        while (lo < hi) {
+            float pivot = keys[(lo + hi) >>> 1];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) i++;
+                while (keys[j] > pivot) j--;
+                if (i <= j) {
+                    swap(items, keys, i++, j--);
+                }
+            }
+
+            if (target <= j) {
+                hi = j;
+            } else if (target >= i) {
+                lo = i;
+            } else {
+                break;
+            }
+        }
+    }
+
+    private static <T> void swap(T[] items, float[] keys, int a, int b) {
+        T item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+
+        float key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+    }
+}
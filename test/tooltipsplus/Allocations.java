@@ -0,0 +1,19 @@
+package tooltipsplus;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+
+public class Allocations {
+    public static final int ITERATIONS = 10000;
+
+    public static long perIteration(Runnable body) {
+        ThreadMXBean bean = (ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        for (int i = 0; i < ITERATIONS; i++) body.run();
+
+        long before = bean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) body.run();
+        return (bean.getThreadAllocatedBytes(thread) - before) / ITERATIONS;
+    }
+}
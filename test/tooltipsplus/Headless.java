@@ -0,0 +1,57 @@
+package tooltipsplus;
+
+import arc.Core;
+import arc.graphics.Texture;
+import arc.graphics.g2d.*;
+import arc.util.I18NBundle;
+import mindustry.Vars;
+import mindustry.core.ContentLoader;
+import mindustry.net.Net;
+
+public class Headless {
+    public static final CountingBatch batch = new CountingBatch();
+
+    public static void init() {
+        if (Core.bundle == null) Core.bundle = I18NBundle.createEmptyBundle();
+        if (Vars.content == null) Vars.content = new ContentLoader();
+        if (Vars.net == null) Vars.net = new Net(null);
+        if (Core.atlas == null) Core.atlas = new WhiteAtlas();
+        Core.batch = batch;
+        batch.reset();
+    }
+
+    public static class CountingBatch extends Batch {
+        public int submits;
+        public int vertices;
+
+        public void reset() {
+            submits = 0;
+            vertices = 0;
+        }
+
+        @Override
+        protected void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+            submits++;
+            vertices += count;
+        }
+
+        @Override
+        protected void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float rotation, float color) {
+            submits++;
+            vertices += 24;
+        }
+
+        @Override
+        protected void flush() {
+        }
+    }
+
+    static class WhiteAtlas extends TextureAtlas {
+        private final AtlasRegion white = new AtlasRegion(new TextureRegion());
+
+        @Override
+        public AtlasRegion white() {
+            return white;
+        }
+    }
+}
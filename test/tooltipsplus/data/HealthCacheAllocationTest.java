@@ -0,0 +1,62 @@
+package tooltipsplus.data;
+
+import mindustry.gen.UnitEntity;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import tooltipsplus.Allocations;
+import tooltipsplus.Headless;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HealthCacheAllocationTest {
+    private static final int UNITS = 500;
+
+    private final HealthCache cache = new HealthCache();
+    private final UnitEntity[] units = new UnitEntity[UNITS];
+    private int frame = 0;
+
+    @BeforeAll
+    static void loadContent() {
+        Headless.init();
+    }
+
+    @Test
+    void steadyStateFrameDoesNotAllocate() {
+        for (int i = 0; i < UNITS; i++) {
+            units[i] = UnitEntity.create();
+            units[i].health = 100f;
+            cache.add(units[i], 0f);
+        }
+
+        assertEquals(0, Allocations.perIteration(() -> {
+            frame++;
+            for (int i = 0; i < UNITS; i++) {
+                UnitEntity unit = units[i];
+                unit.health = 50f + (frame + i) % 50;
+
+                int slot = cache.get(unit.id);
+                cache.refresh(slot, frame);
+                cache.touch(slot);
+            }
+            if (frame % 120 == 0) cache.sweep(3);
+        }));
+        assertEquals(UNITS, cache.size());
+    }
+
+    @Test
+    void slotChurnReusesFreedSlots() {
+        for (int i = 0; i < UNITS; i++) {
+            units[i] = UnitEntity.create();
+        }
+        for (int i = 0; i < UNITS; i++) {
+            cache.add(units[i], 0f);
+        }
+
+        assertEquals(0, Allocations.perIteration(() -> {
+            UnitEntity unit = units[frame++ % UNITS];
+            cache.remove(unit.id);
+            cache.add(unit, frame);
+        }));
+        assertEquals(UNITS, cache.capacity());
+    }
+}
@@ -0,0 +1,67 @@
+package tooltipsplus.data;
+
+import mindustry.game.Team;
+import mindustry.gen.Building;
+import mindustry.world.Tile;
+import mindustry.world.blocks.defense.turrets.ItemTurret;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import tooltipsplus.Allocations;
+import tooltipsplus.Headless;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RangeIndexAllocationTest {
+    private static final int TURRETS = 300;
+    private static ItemTurret turret;
+
+    private final RangeIndex index = new RangeIndex();
+    private final Building[] buildings = new Building[TURRETS];
+    private int step = 0;
+
+    @BeforeAll
+    static void loadContent() {
+        Headless.init();
+        turret = new ItemTurret("ttp-allocation-turret") {{
+            range = 110f;
+        }};
+    }
+
+    @Test
+    void churnAndValidationDoNotAllocate() {
+        for (int i = 0; i < TURRETS; i++) {
+            buildings[i] = place(i % 20, i / 20);
+            index.add(buildings[i]);
+        }
+        assertEquals(TURRETS, index.size());
+
+        assertEquals(0, Allocations.perIteration(() -> {
+            Building build = buildings[step++ % TURRETS];
+            index.remove(build.pos());
+            index.add(build);
+            for (int i = 0; i < TURRETS; i++) index.validate(i);
+        }));
+        assertEquals(TURRETS, index.size());
+    }
+
+    @Test
+    void removedBuildingsAreDroppedOnValidate() {
+        Building build = place(1, 1);
+        index.add(build);
+        build.tile.build = null;
+
+        assertFalse(index.validate(0));
+        assertEquals(0, index.size());
+    }
+
+    private static Building place(int x, int y) {
+        Tile tile = new Tile(x, y);
+        Building build = turret.newBuilding();
+        build.block = turret;
+        build.team = Team.sharded;
+        build.tile = tile;
+        build.set(tile.worldx(), tile.worldy());
+        tile.build = build;
+        return build;
+    }
+}
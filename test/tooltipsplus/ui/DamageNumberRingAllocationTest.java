@@ -0,0 +1,47 @@
+package tooltipsplus.ui;
+
+import arc.util.Time;
+import org.junit.jupiter.api.Test;
+import tooltipsplus.Allocations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DamageNumberRingAllocationTest {
+    private final DamageNumberRing ring = new DamageNumberRing();
+    private int tick = 0;
+
+    @Test
+    void spawnAndUpdateDoNotAllocate() {
+        Time.delta = 1f;
+
+        assertEquals(0, Allocations.perIteration(() -> {
+            tick++;
+            Time.time = tick;
+            ring.spawn(tick % 200, tick, tick, tick % 3 == 0 ? 25f : -40f, 1f);
+            ring.updateAndDraw(null, null, false);
+        }));
+        assertTrue(ring.size() > 0);
+    }
+
+    @Test
+    void drawingDoesNotAllocate() {
+        Time.delta = 1f;
+        NumberGlyphs glyphs = new NumberGlyphs();
+        QuadBatch batch = new QuadBatch(256);
+
+        assertEquals(0, Allocations.perIteration(() -> {
+            tick++;
+            Time.time = tick;
+            ring.spawn(tick % 200, tick, tick, -40f, 1f);
+            ring.updateAndDraw(batch, glyphs, true);
+        }));
+    }
+
+    @Test
+    void repeatedHitsOnOneEntityMerge() {
+        Time.time = 0f;
+        ring.spawn(7, 0f, 0f, -10f, 1f);
+        ring.spawn(7, 0f, 0f, -15f, 1f);
+        assertEquals(1, ring.size());
+    }
+}
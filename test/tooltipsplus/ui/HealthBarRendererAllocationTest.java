@@ -0,0 +1,43 @@
+package tooltipsplus.ui;
+
+import arc.graphics.Color;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tooltipsplus.Allocations;
+import tooltipsplus.Headless;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HealthBarRendererAllocationTest {
+    private static final int BARS = 250;
+
+    private final HealthBarRenderer renderer = new HealthBarRenderer(new NumberGlyphs());
+
+    @BeforeEach
+    void setUp() {
+        Headless.init();
+    }
+
+    private void frame() {
+        renderer.begin();
+        for (int i = 0; i < BARS; i++) {
+            renderer.bar(i * 2f, i * 3f, 45f, 7f, (i % 10) / 10f, Color.scarlet);
+            renderer.pip(i * 2f, i * 3f, 4f, Color.sky);
+            renderer.healthText(i * 2f, i * 3f, 50f + i, 400f, 0.5f);
+            renderer.durationText(i * 2f, i * 3f, i * 90f, 0.4f, Color.white);
+        }
+        renderer.end();
+    }
+
+    @Test
+    void steadyStateFrameDoesNotAllocate() {
+        assertEquals(0, Allocations.perIteration(this::frame));
+    }
+
+    @Test
+    void barsGoOutInOneSubmission() {
+        frame();
+        assertEquals(BARS * 2, renderer.getLastBarCount());
+        assertEquals(1, renderer.getLastSubmitCount());
+    }
+}
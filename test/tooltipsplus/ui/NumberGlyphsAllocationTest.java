@@ -0,0 +1,23 @@
+package tooltipsplus.ui;
+
+import org.junit.jupiter.api.Test;
+import tooltipsplus.Allocations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NumberGlyphsAllocationTest {
+    private final NumberGlyphs glyphs = new NumberGlyphs();
+    private final QuadBatch batch = new QuadBatch(256);
+    private int value = 0;
+
+    @Test
+    void drawingNumbersDoesNotAllocate() {
+        assertEquals(0, Allocations.perIteration(() -> {
+            value += 137;
+            float x = glyphs.drawChar(batch, '-', 0f, 0f, 1f, 0f);
+            x = glyphs.drawInt(batch, value, x, 0f, 1f, 0f);
+            glyphs.intWidth(value, 1f);
+            glyphs.charWidth('/', 1f);
+        }));
+    }
+}
@@ -0,0 +1,49 @@
+package tooltipsplus.ui;
+
+import arc.Core;
+import arc.graphics.Color;
+import arc.graphics.g2d.TextureRegion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tooltipsplus.Allocations;
+import tooltipsplus.Headless;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuadBatchAllocationTest {
+    private final QuadBatch batch = new QuadBatch(512);
+    private final float color = Color.white.toFloatBits();
+
+    @BeforeEach
+    void setUp() {
+        Headless.init();
+    }
+
+    @Test
+    void steadyStateFrameDoesNotAllocate() {
+        TextureRegion white = Core.atlas.white();
+
+        assertEquals(0, Allocations.perIteration(() -> {
+            for (int i = 0; i < 500; i++) {
+                batch.rect(white, i, i, 10f, 4f, color);
+            }
+            batch.flush(white.texture);
+        }));
+    }
+
+    @Test
+    void flushSubmitsOnce() {
+        TextureRegion white = Core.atlas.white();
+        batch.resetStats();
+        Headless.batch.reset();
+
+        for (int i = 0; i < 1000; i++) {
+            batch.rect(white, i, i, 10f, 4f, color);
+        }
+        batch.flush(white.texture);
+
+        assertEquals(1, Headless.batch.submits);
+        assertEquals(1000 * 24, Headless.batch.vertices);
+        assertEquals(1000, batch.getQuadCount());
+    }
+}
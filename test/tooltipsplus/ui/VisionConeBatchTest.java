@@ -0,0 +1,42 @@
+package tooltipsplus.ui;
+
+import arc.graphics.Color;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tooltipsplus.Allocations;
+import tooltipsplus.Headless;
+import tooltipsplus.config.Settings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VisionConeBatchTest {
+    private static final int TURRETS = 300;
+
+    private VisualIndicators indicators;
+
+    @BeforeEach
+    void setUp() {
+        Headless.init();
+        indicators = new VisualIndicators(new Settings());
+        indicators.conePixelsPerUnit = 2f;
+    }
+
+    private void frame() {
+        for (int i = 0; i < TURRETS; i++) {
+            indicators.drawVisionCone(i * 16f, (i % 20) * 16f, i * 7f, 80f + i % 5 * 40f, Color.scarlet, 0.3f);
+        }
+        indicators.flushCones();
+    }
+
+    @Test
+    void conesDoNotAllocate() {
+        assertEquals(0, Allocations.perIteration(this::frame));
+    }
+
+    @Test
+    void allConesGoOutInOneSubmission() {
+        Headless.batch.reset();
+        frame();
+        assertEquals(1, Headless.batch.submits);
+    }
+}
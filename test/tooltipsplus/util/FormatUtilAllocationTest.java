@@ -0,0 +1,52 @@
+package tooltipsplus.util;
+
+import org.junit.jupiter.api.Test;
+import tooltipsplus.Allocations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormatUtilAllocationTest {
+    private final StringBuilder sb = new StringBuilder(64);
+    private float value = 0f;
+
+    @Test
+    void appendNumberDoesNotAllocate() {
+        assertEquals(0, Allocations.perIteration(() -> {
+            sb.setLength(0);
+            FormatUtil.appendNumber(sb, value += 1234.5f);
+        }));
+    }
+
+    @Test
+    void appendFixedDoesNotAllocate() {
+        assertEquals(0, Allocations.perIteration(() -> {
+            sb.setLength(0);
+            FormatUtil.appendFixed(sb, value += 0.37f, 2);
+        }));
+    }
+
+    @Test
+    void appendTimeDoesNotAllocate() {
+        assertEquals(0, Allocations.perIteration(() -> {
+            sb.setLength(0);
+            FormatUtil.appendTime(sb, value += 7f);
+        }));
+    }
+
+    @Test
+    void appendProgressBarDoesNotAllocate() {
+        assertEquals(0, Allocations.perIteration(() -> {
+            sb.setLength(0);
+            FormatUtil.appendProgressBar(sb, (value += 1f) % 100f, 100f, 20);
+        }));
+    }
+
+    @Test
+    void appendFixedMatchesExpectedText() {
+        sb.setLength(0);
+        assertEquals("1.05", FormatUtil.appendFixed(sb, 1.05f, 2).toString());
+        sb.setLength(0);
+        assertEquals("-2.5", FormatUtil.appendFixed(sb, -2.5f, 1).toString());
+        assertEquals("1.5K", FormatUtil.formatNumber(1500f));
+    }
+}